@@ -42,26 +42,12 @@ const TeamDetails: React.FC = () => {
     }, [teamId]);
 
     useEffect(() => {
-        const fetchPlayerPhotos = async () => {
-            const photos: { [key: number]: string } = {};
-
-            await Promise.all(
-                roster.map(async (player) => {
-                    try {
-                        const photoResponse = await API.get<{ url: string }>(`/players/${player.person.id}/photo`);
-                        photos[player.person.id] = photoResponse.data.url;
-                    } catch (error) {
-                        console.error("❌ Error fetching photo:", error);
-                    }
-                })
-            );
-
-            setPlayerPhotos(photos);
-        };
-
-        if (roster.length > 0) {
-            fetchPlayerPhotos();
-        }
+        // Thumbnails come straight from the headshot proxy, no per-player lookup needed.
+        const photos: { [key: number]: string } = {};
+        roster.forEach((player) => {
+            photos[player.person.id] = `${import.meta.env.VITE_API_BASE_URL}/players/${player.person.id}/headshot?size=thumb`;
+        });
+        setPlayerPhotos(photos);
     }, [roster]);
 
     if (loading) return <p className="loading">Loading team details...</p>;
@@ -0,0 +1,51 @@
+// k6 load test for the AI chat endpoint: ramps up concurrent chats against a running backend.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<jwt> load/chat-mlb.js
+//
+// Compare runs with spring.threads.virtual.enabled=true and =false. "cache": "false" keeps answers
+// from the chat answer cache, so every request goes upstream.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TOKEN = __ENV.TOKEN;
+
+export const options = {
+    scenarios: {
+        chats: {
+            executor: 'ramping-vus',
+            stages: [
+                { duration: '30s', target: 100 },
+                { duration: '1m', target: 500 },
+                { duration: '1m', target: 1000 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+const MESSAGES = [
+    'When do the Yankees play next?',
+    'Tell me about the Dodgers schedule',
+    'Who do the Red Sox play tomorrow?',
+    'What is a designated hitter?',
+];
+
+export default function () {
+    const message = MESSAGES[Math.floor(Math.random() * MESSAGES.length)];
+    const response = http.post(`${BASE_URL}/api/ai/chat/mlb`, JSON.stringify({ message, cache: 'false' }), {
+        headers: {
+            'Content-Type': 'application/json',
+            Authorization: `Bearer ${TOKEN}`,
+        },
+        timeout: '120s',
+    });
+
+    check(response, {
+        'status is 200': (r) => r.status === 200,
+        'has reply': (r) => r.json('reply') !== undefined,
+    });
+}
@@ -1,28 +1,75 @@
 package org.example.worldsyncai.auth;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.example.worldsyncai.model.User;
 import org.example.worldsyncai.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
+/**
+ * Loads users for Spring Security.
+ * Principals are cached for a short TTL so authenticated requests don't hit the database each time;
+ * {@code UserServiceImpl} evicts an entry whenever the user is changed or deleted.
+ */
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    @Value("${auth.user-cache.max-size}")
+    private long cacheMaxSize;
+
+    @Value("${auth.user-cache.ttl-seconds}")
+    private long cacheTtlSeconds;
+
+    private Cache<String, CachedPrincipal> principals;
+
+    @PostConstruct
+    public void initCache() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .build();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        CachedPrincipal principal = principals.get(username, this::loadPrincipal);
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
 
+        // A new instance each time: the authentication manager erases credentials on the object it receives.
         return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
+                .username(principal.username())
+                .password(principal.password())
                 .authorities("USER")
                 .build();
     }
+
+    /**
+     * Drops the cached principal, so the next request reloads it from the database.
+     */
+    public void evictUser(String username) {
+        if (username != null) {
+            principals.invalidate(username);
+        }
+    }
+
+    private CachedPrincipal loadPrincipal(String username) {
+        return userRepository.findByUsername(username)
+                .map(user -> new CachedPrincipal(user.getUsername(), user.getPassword()))
+                .orElse(null);
+    }
+
+    private record CachedPrincipal(String username, String password) {
+    }
 }
\ No newline at end of file
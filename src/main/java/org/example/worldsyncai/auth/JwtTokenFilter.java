@@ -1,5 +1,6 @@
 package org.example.worldsyncai.auth;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,6 +15,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -31,8 +33,10 @@ public class JwtTokenFilter extends OncePerRequestFilter {
             log.warn("⚠️ No JWT token found in request.");
         }
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsernameFromToken(token);
+        Optional<Claims> claims = token != null ? jwtTokenProvider.parseClaims(token) : Optional.empty();
+
+        if (claims.isPresent()) {
+            String username = claims.get().getSubject();
 
             UserDetails userDetails = userDetailsService.loadUserByUsername(username);
             Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
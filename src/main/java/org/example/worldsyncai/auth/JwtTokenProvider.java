@@ -1,5 +1,10 @@
 package org.example.worldsyncai.auth;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.JwtException;
@@ -7,25 +12,42 @@ import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.example.worldsyncai.service.impl.SecretManagerService;
+import org.example.worldsyncai.util.HashUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
-    private Key key;
+    private SecretKey key;
+
+    private JwtParser jwtParser;
+
+    /**
+     * Recently verified tokens keyed by SHA-256 of the token; an entry never outlives the token's {@code exp}.
+     */
+    private Cache<String, Claims> validatedTokens;
 
     private final long jwtExpirationMs = 86400000;
 
+    @Value("${jwt.validation-cache.max-size}")
+    private long validationCacheMaxSize;
+
+    @Value("${jwt.validation-cache.ttl-seconds}")
+    private long validationCacheTtlSeconds;
+
     @Autowired
     private SecretManagerService secretManagerService;
 
@@ -40,6 +62,28 @@ public class JwtTokenProvider {
 
         byte[] keyBytes = Base64.getDecoder().decode(secret.trim());
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parser().verifyWith(key).build();
+
+        Duration maxTtl = Duration.ofSeconds(validationCacheTtlSeconds);
+        this.validatedTokens = Caffeine.newBuilder()
+                .maximumSize(validationCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, Claims claims, long currentTime) {
+                        return remainingLifetime(claims, maxTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                        return remainingLifetime(claims, maxTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     /**
@@ -71,35 +115,52 @@ public class JwtTokenProvider {
     }
 
     /**
-     * 🔹 Getting username from token
+     * 🔹 Verifies the token and returns its claims.
+     * The signature is checked once per token; repeated calls are answered from the validation cache.
      */
-    public String getUsernameFromToken(String token) {
+    public Optional<Claims> parseClaims(String token) {
+        String tokenHash = HashUtils.sha256Hex(token);
+        Claims cached = validatedTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
         try {
-            return Jwts.parser()
-                    .setSigningKey(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getSubject();
-        } catch (JwtException e) {
-            log.error("❌ Error extracting username from token: {}", e.getMessage());
-            return null;
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            validatedTokens.put(tokenHash, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("❌ JWT validation error: {}", e.getMessage());
+            return Optional.empty();
         }
     }
 
+    /**
+     * 🔹 Getting username from token
+     */
+    public String getUsernameFromToken(String token) {
+        return parseClaims(token)
+                .map(Claims::getSubject)
+                .orElse(null);
+    }
+
     /**
      * 🔹 Checking the validity of the token
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .setSigningKey(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException e) {
-            log.error("❌ JWT validation error: {}", e.getMessage());
+        return parseClaims(token).isPresent();
+    }
+
+    private static Duration remainingLifetime(Claims claims, Duration maxTtl) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return maxTtl;
+        }
+
+        Duration remaining = Duration.between(Instant.now(), expiration.toInstant());
+        if (remaining.isNegative()) {
+            return Duration.ZERO;
         }
-        return false;
+        return remaining.compareTo(maxTtl) < 0 ? remaining : maxTtl;
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package org.example.worldsyncai.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Single entry point for MLB Stats API and MLB static content requests.
+ * Uses the pooled {@link RestTemplate} from {@code AppConfig}, so connections to the MLB hosts are reused.
+ * Errors are propagated as {@link RestClientException} for the callers to map.
+ */
+@Component
+@RequiredArgsConstructor
+public class MlbStatsClient {
+
+    private final RestTemplate restTemplate;
+
+    public String get(String url) {
+        return restTemplate.getForObject(url, String.class);
+    }
+
+    public <T> T get(String url, Class<T> responseType) {
+        return restTemplate.getForObject(url, responseType);
+    }
+
+    public byte[] getBytes(String url) {
+        return restTemplate.getForObject(url, byte[].class);
+    }
+
+    /**
+     * Conditional GET with the validators of a previous response.
+     * An unchanged resource comes back as 304 with an empty body.
+     */
+    public ResponseEntity<byte[]> getIfModified(String url, String eTag, String lastModified) {
+        HttpHeaders headers = new HttpHeaders();
+        if (eTag != null) {
+            headers.setIfNoneMatch(eTag);
+        }
+        if (lastModified != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+}
\ No newline at end of file
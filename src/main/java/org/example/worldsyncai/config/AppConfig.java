@@ -1,15 +1,112 @@
 package org.example.worldsyncai.config;
 
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Configuration
 public class AppConfig {
 
+    @Value("${http.client.max-total}")
+    private int maxTotalConnections;
+
+    @Value("${http.client.max-per-route}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${http.client.mlb-max-per-route}")
+    private int mlbMaxConnectionsPerRoute;
+
+    @Value("${http.client.connect-timeout-ms}")
+    private long connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms}")
+    private long readTimeoutMs;
+
+    @Value("${mlb.api.base.url}")
+    private String mlbBaseUrl;
+
+    /**
+     * Keep-alive connection pool shared by all upstream calls.
+     * The MLB Stats API host gets its own, larger per-route limit. Responses are gzip-decoded by the client.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient pooledHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotalConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        URI mlbUri = URI.create(mlbBaseUrl);
+        boolean secure = "https".equalsIgnoreCase(mlbUri.getScheme());
+        int port = mlbUri.getPort() != -1 ? mlbUri.getPort() : (secure ? 443 : 80);
+        HttpHost mlbHost = new HttpHost(mlbUri.getScheme(), mlbUri.getHost(), port);
+        connectionManager.setMaxPerRoute(new HttpRoute(mlbHost, null, secure), mlbMaxConnectionsPerRoute);
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient pooledHttpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(pooledHttpClient))
+                .build();
+    }
+
+    /**
+     * Executor for work that waits on upstream services outside the request thread (AI streaming, fan-out calls).
+     * Starts a virtual thread per task when {@code spring.threads.virtual.enabled} is set, like Tomcat and the task executors.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService upstreamExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("upstream-", 0).factory());
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Google API clients share one transport and JSON factory, so Calendar and OAuth calls reuse kept-alive TLS connections.
+     */
+    @Bean
+    public HttpTransport googleHttpTransport() {
+        return new NetHttpTransport();
+    }
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder.build();
+    public JsonFactory googleJsonFactory() {
+        return JacksonFactory.getDefaultInstance();
     }
 }
\ No newline at end of file
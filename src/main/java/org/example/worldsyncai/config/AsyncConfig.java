@@ -0,0 +1,16 @@
+package org.example.worldsyncai.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Async} and {@code @Scheduled}.
+ * The executor and scheduler are auto-configured by Spring Boot and run on virtual threads
+ * while {@code spring.threads.virtual.enabled=true}.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
\ No newline at end of file
@@ -61,6 +61,7 @@ public class SecurityConfig {
                                 "/api/google/calendar/auth", "/api/google/calendar/callback",
                                 "/api/google/calendar/check"
                         ).permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/teams/mlb/team/*/logo", "/api/players/*/headshot").permitAll()
                         .anyRequest().authenticated()
                 )
                 .cors(cors -> cors.configurationSource(request -> {
@@ -5,11 +5,12 @@ import com.google.api.client.googleapis.json.GoogleJsonResponseException;
 import com.google.api.services.calendar.model.EventDateTime;
 import lombok.extern.slf4j.Slf4j;
 import org.example.worldsyncai.auth.JwtTokenProvider;
-import org.example.worldsyncai.dto.UserDto;
+import org.example.worldsyncai.dto.calendar.CalendarSyncJobDto;
 import org.example.worldsyncai.dto.calendar.EventRequestDto;
 import org.example.worldsyncai.dto.calendar.GameEventDto;
 import org.example.worldsyncai.model.User;
 import org.example.worldsyncai.service.UserService;
+import org.example.worldsyncai.service.calendar.CalendarSyncService;
 import org.example.worldsyncai.service.impl.SecretManagerService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,7 @@ import com.google.api.services.calendar.model.Event;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Instant;
 import java.util.Optional;
 
 @RestController
@@ -34,6 +36,8 @@ public class GoogleCalendarController {
 
     private final JwtTokenProvider jwtTokenProvider;
 
+    private final CalendarSyncService calendarSyncService;
+
     private final String clientId;
 
     private final String clientSecret;
@@ -45,10 +49,12 @@ public class GoogleCalendarController {
     public GoogleCalendarController(GoogleCalendarService googleCalendarService,
                                     UserService userService,
                                     JwtTokenProvider jwtTokenProvider,
+                                    CalendarSyncService calendarSyncService,
                                     SecretManagerService secretManagerService) {
         this.googleCalendarService = googleCalendarService;
         this.userService = userService;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.calendarSyncService = calendarSyncService;
         this.clientId = secretManagerService.getGoogleOAuthClientId();
         this.clientSecret = secretManagerService.getGoogleOAuthClientSecret();
         this.redirectUri = secretManagerService.getGoogleOAuthRedirectUri();
@@ -91,16 +97,16 @@ public class GoogleCalendarController {
             String accessToken = tokenPair.getAccessToken();
             String refreshToken = tokenPair.getRefreshToken();
 
-            Optional<UserDto> userDtoOpt = userService.getUserByUsername(username);
-            if (userDtoOpt.isEmpty()) {
+            Optional<Long> userIdOpt = userService.findIdByUsername(username);
+            if (userIdOpt.isEmpty()) {
                 log.error("❌ No user found in DB for username: {}", username);
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
 
-            Long userId = userDtoOpt.get().getId();
+            Long userId = userIdOpt.get();
 
             log.info("✅ Storing tokens for user {}: AccessToken: {}, RefreshToken: {}", username, accessToken, refreshToken);
-            userService.updateUserCalendarTokens(userId, accessToken, refreshToken);
+            googleCalendarService.storeUserTokens(userId, tokenPair);
 
             URI redirectUri = URI.create(frontendUrl + "/profile");
             return ResponseEntity.status(HttpStatus.FOUND).location(redirectUri).build();
@@ -111,16 +117,28 @@ public class GoogleCalendarController {
         }
     }
 
+    /**
+     * Creates the event with the user's cached Calendar client. Its token is renewed ahead of expiry,
+     * so the insert does not have to fail with a 401 first.
+     */
     @PostMapping("/event")
-    public ResponseEntity<String> createEvent(
-            @RequestBody EventRequestDto dto,
-            @RequestHeader("Authorization") String accessTokenHeader
-    ) {
+    public ResponseEntity<String> createEvent(@RequestBody EventRequestDto dto) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("No user is authenticated");
+        }
+
         try {
-            final String prefix = "Bearer ";
-            String accessToken = accessTokenHeader.startsWith(prefix)
-                    ? accessTokenHeader.substring(prefix.length())
-                    : accessTokenHeader;
+            Optional<User> userOpt = userService.findUserEntityByUsername(authentication.getName());
+            if (userOpt.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
+            }
+            User user = userOpt.get();
+
+            String googleAccessToken = user.getGoogleCalendarAccessToken();
+            if (googleAccessToken == null || googleAccessToken.isBlank()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("User does not have a Google Calendar token.");
+            }
 
             Event event = new Event()
                     .setSummary(dto.summary())
@@ -130,69 +148,19 @@ public class GoogleCalendarController {
                     .setEnd(new EventDateTime().setDateTime(
                             new com.google.api.client.util.DateTime(dto.end().dateTime())));
 
-            googleCalendarService.createEvent(accessToken, event);
+            googleCalendarService.createEventForUser(user.getId(), event);
             return ResponseEntity.ok("Event created successfully!");
 
         } catch (GoogleJsonResponseException gjre) {
             if (gjre.getStatusCode() == 401) {
-                log.warn("Access token is invalid or expired, let's try refresh...");
-
-                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-                if (authentication == null || !authentication.isAuthenticated()) {
-                    log.error("No user is authenticated, can't refresh token.");
-                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("No user is authenticated");
-                }
-
-                String username = authentication.getName();
-
-                Optional<UserDto> userDtoOpt = userService.getUserByUsername(username);
-                if (userDtoOpt.isEmpty()) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
-                }
-                Long userId = userDtoOpt.get().getId();
-
-
-                Optional<User> userEntityOpt = userService.findUserEntityById(userId);
-                if (userEntityOpt.isEmpty()) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User entity not found.");
-                }
-                User userEntity = userEntityOpt.get();
-                String refreshToken = userEntity.getGoogleCalendarRefreshToken();
-                if (refreshToken == null || refreshToken.isEmpty()) {
-                    log.error("No refresh token in DB; user must re-connect Google.");
-                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Refresh token not found.");
-                }
-
-                try {
-                    var newTokens = googleCalendarService.refreshAccessToken(
-                            refreshToken, clientId, clientSecret
-                    );
-                    String newAccessToken = newTokens.getAccessToken();
-
-                    userService.updateUserCalendarTokens(userId, newAccessToken, refreshToken);
-
-                    Event eventRetry = new Event()
-                            .setSummary(dto.summary())
-                            .setDescription(dto.description())
-                            .setStart(new EventDateTime().setDateTime(
-                                    new com.google.api.client.util.DateTime(dto.start().dateTime())))
-                            .setEnd(new EventDateTime().setDateTime(
-                                    new com.google.api.client.util.DateTime(dto.end().dateTime())));
-
-                    googleCalendarService.createEvent(newAccessToken, eventRetry);
-
-                    return ResponseEntity.ok("Event created successfully (after refresh)!");
-                } catch (Exception ex) {
-                    log.error("Refresh token flow failed", ex);
-                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                            .body("Failed to refresh token, user re-connect needed.");
-                }
-
-            } else {
-                log.error("Google API returned an error", gjre);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body("Failed to create event (API error).");
+                // The client already tried to refresh; the user has to reconnect Google.
+                log.warn("Google Calendar token could not be refreshed for user {}", authentication.getName());
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body("Failed to refresh token, user re-connect needed.");
             }
+            log.error("Google API returned an error", gjre);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to create event (API error).");
 
         } catch (Exception e) {
             log.error("Error creating event", e);
@@ -218,13 +186,13 @@ public class GoogleCalendarController {
 
             String username = jwtTokenProvider.getUsernameFromToken(jwtToken);
 
-            Optional<UserDto> userDtoOpt = userService.getUserByUsername(username);
-            if (userDtoOpt.isEmpty()) {
+            Optional<User> userOpt = userService.findUserEntityByUsername(username);
+            if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
             }
 
-            Long userId = userDtoOpt.get().getId();
-            String googleAccessToken = userService.getUserCalendarToken(userId);
+            Long userId = userOpt.get().getId();
+            String googleAccessToken = userOpt.get().getGoogleCalendarAccessToken();
 
             if (googleAccessToken == null || googleAccessToken.isBlank()) {
                 log.error("❌ User '{}' does not have a Google Calendar token.", username);
@@ -237,13 +205,14 @@ public class GoogleCalendarController {
                     .setStart(new EventDateTime().setDateTime(new com.google.api.client.util.DateTime(dto.startDateTime())))
                     .setEnd(new EventDateTime().setDateTime(new com.google.api.client.util.DateTime(dto.endDateTime())));
 
-            googleCalendarService.createEvent(googleAccessToken, event);
+            googleCalendarService.createEventForUser(userId, event);
 
             return ResponseEntity.ok("Game event created successfully in Google Calendar!");
         } catch (GoogleJsonResponseException gjre) {
             log.error("Google API error: {}", gjre.getDetails());
 
             if (gjre.getStatusCode() == 401) {
+                // The client already tried to refresh; the user has to reconnect Google.
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Google access token expired.");
             }
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Google Calendar API error.");
@@ -253,6 +222,55 @@ public class GoogleCalendarController {
         }
     }
 
+    /**
+     * Starts adding the upcoming games of the user's favorite teams to Google Calendar.
+     * Returns 202 with the job status; progress is polled on {@code /sync/{jobId}}.
+     */
+    @PostMapping("/sync/favorites")
+    public ResponseEntity<?> syncFavoriteTeams() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("No user is authenticated");
+        }
+
+        Optional<User> userOpt = userService.findUserEntityByUsername(auth.getName());
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
+        }
+        Long userId = userOpt.get().getId();
+
+        String googleAccessToken = userOpt.get().getGoogleCalendarAccessToken();
+        if (googleAccessToken == null || googleAccessToken.isBlank()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("User does not have a Google Calendar token.");
+        }
+
+        CalendarSyncJobDto job = calendarSyncService.startFavoriteTeamsSync(userId);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/google/calendar/sync/" + job.jobId()))
+                .body(job);
+    }
+
+    @GetMapping("/sync/{jobId}")
+    public ResponseEntity<?> getSyncJob(@PathVariable String jobId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("No user is authenticated");
+        }
+
+        Optional<Long> userIdOpt = userService.findIdByUsername(auth.getName());
+        if (userIdOpt.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
+        }
+
+        return calendarSyncService.getJob(jobId, userIdOpt.get())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Sync job not found."));
+    }
+
+    /**
+     * Answers from the stored token metadata, without calling Google.
+     * A token counts as valid while it has not expired or can still be refreshed.
+     */
     @GetMapping("/check")
     public ResponseEntity<String> checkToken() {
         try {
@@ -262,28 +280,26 @@ public class GoogleCalendarController {
             }
             String username = auth.getName();
 
-            var userDtoOpt = userService.getUserByUsername(username);
-            if (userDtoOpt.isEmpty()) {
+            Optional<User> userOpt = userService.findUserEntityByUsername(username);
+            if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
             }
-            Long userId = userDtoOpt.get().getId();
+            User user = userOpt.get();
 
-            String accessToken = userService.getUserCalendarToken(userId);
+            String accessToken = user.getGoogleCalendarAccessToken();
             if (accessToken == null || accessToken.isBlank()) {
                 return ResponseEntity.ok("no_token");
             }
 
-            try {
-                var service = googleCalendarService.getCalendarService(accessToken);
-                service.events().list("primary").setMaxResults(1).execute();
+            String refreshToken = user.getGoogleCalendarRefreshToken();
+            Instant expiresAt = user.getGoogleCalendarTokenExpiresAt();
+            if ((refreshToken != null && !refreshToken.isBlank())
+                    || (expiresAt != null && expiresAt.isAfter(Instant.now()))) {
                 return ResponseEntity.ok("valid");
-            } catch (GoogleJsonResponseException gjre) {
-                if (gjre.getStatusCode() == 401) {
-                    log.warn("📌 Google Calendar token expired for user: {}", username);
-                    return ResponseEntity.ok("expired");
-                }
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Calendar error");
             }
+
+            log.warn("📌 Google Calendar token expired for user: {}", username);
+            return ResponseEntity.ok("expired");
         } catch (Exception e) {
             log.error("❗ Error checking Google Calendar token", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Check token error");
@@ -3,17 +3,26 @@ package org.example.worldsyncai.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.worldsyncai.auth.JwtTokenProvider;
+import org.example.worldsyncai.service.player.HeadshotSize;
+import org.example.worldsyncai.service.player.PlayerHeadshotStore;
+import org.example.worldsyncai.service.player.PlayerService;
+import org.example.worldsyncai.util.ETagUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/players")
@@ -21,14 +30,16 @@ import java.util.Map;
 @Slf4j
 public class PlayerController {
 
-    @Value("${mlb.api.base.url}")
-    private String baseUrl;
+    private static final int MAX_PLAYER_IDS = 200;
 
-    @Value("${mlb.player.photo}")
-    private String playerPhotoUrl;
+    private static final Pattern PLAYER_ID = Pattern.compile("[1-9]\\d{0,8}");
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${player.headshot.cache-max-age-days}")
+    private long headshotMaxAgeDays;
+
+    private final PlayerService playerService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final PlayerHeadshotStore playerHeadshotStore;
 
     /**
      * Fetches the details of a specific player by their ID.
@@ -46,11 +57,10 @@ public class PlayerController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired JWT token.");
         }
 
-        String url = baseUrl + "/people/" + playerId;
-
         try {
-            String response = restTemplate.getForObject(url, String.class);
-            return ResponseEntity.ok().header("Content-Type", "application/json").body(response);
+            return playerService.getPlayer(playerId)
+                    .<ResponseEntity<?>>map(player -> ResponseEntity.ok(Map.of("people", List.of(player))))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Player not found: " + playerId));
         } catch (HttpClientErrorException e) {
             log.error("Client error while fetching details for player ID {}: {} - {}", playerId, e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body("Client error: " + e.getMessage());
@@ -64,15 +74,97 @@ public class PlayerController {
     }
 
     /**
-     * Returns the MLB player headshot image URL.
+     * Fetches the details of several players at once, e.g. a whole roster.
+     * IDs that are not cached are loaded with a single upstream call; unknown IDs are left out of the response.
+     */
+    @GetMapping
+    public ResponseEntity<?> getPlayersDetails(@RequestParam List<Integer> ids, @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            log.error("❌ No valid JWT token provided.");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid Authorization header.");
+        }
+
+        String token = authHeader.substring(7);
+        if (!jwtTokenProvider.validateToken(token)) {
+            log.error("❌ Invalid or expired JWT token.");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired JWT token.");
+        }
+
+        if (ids.isEmpty() || ids.size() > MAX_PLAYER_IDS) {
+            return ResponseEntity.badRequest().body("Provide between 1 and " + MAX_PLAYER_IDS + " player IDs.");
+        }
+
+        try {
+            return ResponseEntity.ok(Map.of("people", playerService.getPlayers(ids)));
+        } catch (HttpClientErrorException e) {
+            log.error("Client error while fetching details for players {}: {} - {}", ids, e.getStatusCode(), e.getMessage());
+            return ResponseEntity.status(e.getStatusCode()).body("Client error: " + e.getMessage());
+        } catch (ResourceAccessException e) {
+            log.error("Timeout while fetching details for players {}", ids);
+            return ResponseEntity.status(HttpStatus.REQUEST_TIMEOUT).body("Request timed out. Please try again.");
+        } catch (Exception e) {
+            log.error("Unexpected error while fetching details for players {}: {}", ids, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Unexpected error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the URL of the player headshot served by this API's image proxy.
+     * @param size "thumb" for roster thumbnails, full size otherwise.
      */
     @GetMapping("/{playerId}/photo")
-    public ResponseEntity<Map<String, String>> getPlayerPhoto(@PathVariable int playerId) {
-        String imageUrl = playerPhotoUrl + "/" + playerId + "/headshot/67/current";
+    public ResponseEntity<Map<String, String>> getPlayerPhoto(@PathVariable int playerId,
+                                                              @RequestParam(required = false) String size) {
+        String imageUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/players/{playerId}/headshot")
+                .queryParam("size", HeadshotSize.fromParam(size).name().toLowerCase())
+                .buildAndExpand(playerId)
+                .toUriString();
 
         Map<String, String> response = new HashMap<>();
         response.put("url", imageUrl);
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Serves the player headshot as JPEG from the local cache, fetching it from the MLB CDN once.
+     * Responses carry a strong ETag and a long public max-age; a matching If-None-Match gets a 304.
+     * The endpoint is public, so anything but a plain player ID is rejected before the store is asked.
+     */
+    @GetMapping("/{playerId}/headshot")
+    public ResponseEntity<byte[]> getPlayerHeadshot(@PathVariable String playerId,
+                                                    @RequestParam(required = false) String size,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (!PLAYER_ID.matcher(playerId).matches()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            PlayerHeadshotStore.Headshot headshot = playerHeadshotStore
+                    .getHeadshot(Integer.parseInt(playerId), HeadshotSize.fromParam(size))
+                    .orElse(null);
+            if (headshot == null) {
+                log.debug("❓ No headshot for player {}", playerId);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(headshotMaxAgeDays)).cachePublic();
+
+            if (ETagUtils.matches(ifNoneMatch, headshot.eTag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(headshot.eTag())
+                        .cacheControl(cacheControl)
+                        .build();
+            }
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .eTag(headshot.eTag())
+                    .cacheControl(cacheControl)
+                    .body(headshot.bytes());
+        } catch (Exception e) {
+            log.error("❗ Error fetching headshot for player {}: {}", playerId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
\ No newline at end of file
@@ -1,24 +1,25 @@
 package org.example.worldsyncai.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.worldsyncai.auth.JwtTokenProvider;
+import org.example.worldsyncai.service.team.TeamCatalog;
+import org.example.worldsyncai.service.team.TeamDetailsService;
+import org.example.worldsyncai.service.team.TeamLogoStore;
+import org.example.worldsyncai.util.ETagUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 
-import javax.annotation.PostConstruct;
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 @RestController
 @RequestMapping("/api/teams")
@@ -26,30 +27,15 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 public class TeamController {
 
-    @Value("${mlb.team.url}")
-    private String teamUrl;
+    @Value("${team.logo.cache-max-age-days}")
+    private long logoMaxAgeDays;
 
-    @Value("${mlb.teams.url}")
-    private String teamsUrl;
-
-    @Value("${mlb.team.logo}")
-    private String teamLogo;
-
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TeamDetailsService teamDetailsService;
+    private final TeamCatalog teamCatalog;
+    private final TeamLogoStore teamLogoStore;
 
-    private final Map<Integer, byte[]> teamLogoCache = new ConcurrentHashMap<>();
-    private final Map<Integer, Map<String, Object>> teamDataCache = new ConcurrentHashMap<>();
-
-    @PostConstruct
-    public void initRestTemplate() {
-        restTemplate.setRequestFactory(new RestTemplateBuilder()
-                .connectTimeout(Duration.ofSeconds(5))
-                .readTimeout(Duration.ofSeconds(5))
-                .build()
-                .getRequestFactory());
-    }
+    private static final MediaType SVG = MediaType.valueOf("image/svg+xml");
 
     /**
      * Retrieves the details of a specified MLB team, including team information and roster for a given season.
@@ -72,25 +58,8 @@ public class TeamController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired JWT token.");
         }
 
-        if (teamDataCache.containsKey(teamId)) {
-            log.debug("✅ Returning cached data for team {}", teamId);
-            return ResponseEntity.ok(teamDataCache.get(teamId));
-        }
-
-        String teamInfoUrl = teamUrl + "/" + teamId;
-        String rosterUrl = teamUrl + "/" + teamId + "/roster?season=2025";
-
         try {
-            String teamInfoResponse = restTemplate.getForObject(teamInfoUrl, String.class);
-            String rosterResponse = restTemplate.getForObject(rosterUrl, String.class);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("teamInfo", objectMapper.readValue(teamInfoResponse, Map.class));
-            response.put("roster", objectMapper.readValue(rosterResponse, Map.class).get("roster"));
-
-            teamDataCache.put(teamId, response);
-
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(teamDetailsService.getTeamDetails(teamId));
         } catch (HttpClientErrorException e) {
             log.error("❌ Client error while fetching details for team {}: {} - {}", teamId, e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body("Client error: " + e.getMessage());
@@ -111,7 +80,8 @@ public class TeamController {
      *         or an error message with the corresponding HTTP status code if the request fails.
      */
     @GetMapping("/mlb/teams")
-    public ResponseEntity<?> getAllTeams(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+    public ResponseEntity<?> getAllTeams(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             log.error("❌ No valid JWT token provided.");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid Authorization header.");
@@ -123,44 +93,62 @@ public class TeamController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired JWT token.");
         }
 
-        try {
-            String response = restTemplate.getForObject(teamsUrl, String.class);
-            return ResponseEntity.ok().header("Content-Type", "application/json").body(response);
-        } catch (HttpClientErrorException e) {
-            log.error("❌ Client error while fetching teams: {}", e.getMessage());
-            return ResponseEntity.status(e.getStatusCode()).body("Client error: " + e.getMessage());
-        } catch (Exception e) {
-            log.error("❗ Server error while fetching teams: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error fetching teams: " + e.getMessage());
+        TeamCatalog.TeamsJson teams = teamCatalog.getTeamsJson().orElse(null);
+        if (teams == null) {
+            log.error("❗ MLB team catalog is not loaded.");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Error fetching teams: MLB API unavailable.");
         }
+
+        if (ETagUtils.matches(ifNoneMatch, teams.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(teams.eTag()).build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(teams.eTag())
+                .body(teams.json());
     }
     
     /**
-     * Retrieves the logo for an MLB team by its ID. If the logo has been previously fetched,
-     * it is returned from the cache. Otherwise, the method fetches it from the external URL.
+     * Retrieves the logo for an MLB team by its ID from the local logo store.
+     * Responses carry a strong ETag and a long public max-age; a matching If-None-Match gets a 304.
+     * Clients accepting gzip get the precompressed variant.
      *
      * @param teamId The unique identifier for the MLB team.
-     * @return A {@link ResponseEntity} containing the team logo as a byte array with an
-     * "image/svg+xml" content type if successful, or an appropriate HTTP status
-     * code if an error occurs (e.g., 404 if the logo is not found).
+     * @return A {@link ResponseEntity} containing the team logo as an "image/svg+xml" resource if successful,
+     * or an appropriate HTTP status code if an error occurs (e.g., 404 if the logo is not found).
      */
     @GetMapping("/mlb/team/{teamId}/logo")
-    public ResponseEntity<byte[]> getTeamLogo(@PathVariable int teamId) {
-        if (teamLogoCache.containsKey(teamId)) {
-            log.debug("✅ Returning cached logo for team {}", teamId);
-            return ResponseEntity.ok().header("Content-Type", "image/svg+xml").body(teamLogoCache.get(teamId));
-        }
-
-        String logoUrl = teamLogo + "/" + teamId + ".svg";
-
+    public ResponseEntity<Resource> getTeamLogo(@PathVariable int teamId,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            byte[] logoBytes = restTemplate.getForObject(logoUrl, byte[].class);
-            if (logoBytes != null) {
-                teamLogoCache.put(teamId, logoBytes);
-                log.debug("🆕 Logo for team {} downloaded and cached", teamId);
-                return ResponseEntity.ok().header("Content-Type", "image/svg+xml").body(logoBytes);
+            TeamLogoStore.LogoAsset logo = teamLogoStore.getLogo(teamId).orElse(null);
+            if (logo == null) {
+                log.debug("❓ Logo requested for unknown team {}", teamId);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
             }
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            boolean gzip = acceptsGzip(acceptEncoding);
+            String eTag = gzip ? logo.gzipETag() : logo.eTag();
+            CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(logoMaxAgeDays)).cachePublic();
+
+            if (ETagUtils.matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .cacheControl(cacheControl)
+                        .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                        .build();
+            }
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(SVG)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(new FileSystemResource(gzip ? logo.gzip() : logo.svg()));
         } catch (HttpClientErrorException.NotFound e) {
             log.error("❌ Logo for team {} not found", teamId);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -169,4 +157,17 @@ public class TeamController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
@@ -4,10 +4,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.worldsyncai.dto.chat.ChatResponseDto;
 import org.example.worldsyncai.service.chat.ChatService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  * REST API for frontend.
@@ -19,7 +24,10 @@ import java.util.Map;
 @Slf4j
 public class ChatController {
 
+    private static final long STREAM_TIMEOUT_MS = 120_000;
+
     private final ChatService chatService;
+    private final ExecutorService upstreamExecutor;
 
     @PostMapping("/mlb")
     public ResponseEntity<Map<String, String>> chatWithAI(@RequestBody Map<String, String> request) {
@@ -28,7 +36,53 @@ public class ChatController {
             return ResponseEntity.badRequest().body(Map.of("error", "Message cannot be empty"));
         }
 
-        ChatResponseDto response = chatService.processUserQuery(userMessage);
+        ChatResponseDto response = chatService.processUserQuery(userMessage, useCache(request));
         return ResponseEntity.ok(Map.of("reply", response.getResponse()));
     }
+
+    /**
+     * Streams the AI reply as Server-Sent Events.
+     * Each "chunk" event carries {"text": "..."}, a final "done" event closes the stream.
+     * If the model stream was cut off, the stream ends with an "error" event instead of "done".
+     */
+    @PostMapping(value = "/mlb/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChatWithAI(@RequestBody Map<String, String> request) {
+        String userMessage = request.get("message");
+        if (userMessage == null || userMessage.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+
+        upstreamExecutor.execute(() -> {
+            try {
+                boolean finished = chatService.streamUserQuery(userMessage, useCache(request), chunk -> {
+                    try {
+                        emitter.send(SseEmitter.event().name("chunk").data(Map.of("text", chunk), MediaType.APPLICATION_JSON));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (finished) {
+                    emitter.send(SseEmitter.event().name("done").data(""));
+                } else {
+                    log.warn("⚠️ AI stream ended before the model finished the answer");
+                    emitter.send(SseEmitter.event().name("error").data(Map.of("error", "The answer was cut off."), MediaType.APPLICATION_JSON));
+                }
+                emitter.complete();
+            } catch (Exception e) {
+                log.error("❌ Error streaming AI response", e);
+                emitter.completeWithError(e);
+            }
+        });
+
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Cached answers are allowed unless the request sends {"cache": "false"}.
+     */
+    private boolean useCache(Map<String, String> request) {
+        return !"false".equalsIgnoreCase(request.get("cache"));
+    }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.example.worldsyncai.service.game.TriviaQuestionService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.Map;
 
 @RestController
@@ -16,8 +17,8 @@ public class TriviaController {
     private final TriviaQuestionService triviaQuestionService;
 
     @GetMapping("/question")
-    public ResponseEntity<TriviaQuestionDto> getQuestion() {
-        TriviaQuestionDto question = triviaQuestionService.getRandomQuestion();
+    public ResponseEntity<TriviaQuestionDto> getQuestion(Principal principal) {
+        TriviaQuestionDto question = triviaQuestionService.getRandomQuestion(principal != null ? principal.getName() : null);
         return ResponseEntity.ok(question);
     }
 
@@ -33,8 +34,8 @@ public class TriviaController {
             ));
         }
 
-        String responseMessage = triviaQuestionService.checkAnswer(questionId, userAnswer);
         String questionText = triviaQuestionService.getQuestionText(questionId);
+        String responseMessage = triviaQuestionService.checkAnswer(questionId, userAnswer);
 
         return ResponseEntity.ok(Map.of(
                 "reply", responseMessage,
@@ -1,16 +1,23 @@
 package org.example.worldsyncai.controller.schedule;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.example.worldsyncai.service.schedule.ScheduleStore;
+import org.example.worldsyncai.util.ETagUtils;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/schedule")
@@ -18,52 +25,47 @@ import org.springframework.web.client.RestTemplate;
 @Slf4j
 public class ScheduleController {
 
-    @Value("${mlb.schedule.url}")
-    private String scheduleUrl;
-
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final ScheduleStore scheduleStore;
 
     /**
-     * Gets the MLB schedule from the external API.
+     * Gets the MLB schedule from the in-memory season copy.
+     * Clients revalidate with If-None-Match and get a 304 while the selection is unchanged.
      *
+     * @param startDate optional first date (yyyy-MM-dd)
+     * @param endDate optional last date (yyyy-MM-dd)
+     * @param teamId optional MLB team ID, keeps only that team's games
      * @return the response entity containing the schedule or an error message
      */
     @GetMapping("/mlb")
-    public ResponseEntity<?> getMlbSchedule() {
-        int maxRetries = 3;
-        int retryCount = 0;
-        int waitTime = 3000;
+    public ResponseEntity<?> getMlbSchedule(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer teamId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().body("endDate must not be before startDate.");
+        }
+
+        Optional<ScheduleStore.ScheduleResponse> schedule = scheduleStore.getSchedule(startDate, endDate, teamId);
+        if (schedule.isEmpty()) {
+            log.error("MLB schedule is not loaded yet.");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body("Service is currently unavailable. Please try again later.");
+        }
 
-        while (retryCount < maxRetries) {
-            try {
-                String response = restTemplate.getForObject(scheduleUrl, String.class);
-                return ResponseEntity.ok()
-                        .header("Content-Type", "application/json")
-                        .body(response);
-            } catch (HttpClientErrorException e) {
-                log.error("Client error: {} - {}", e.getStatusCode(), e.getMessage());
-                return ResponseEntity.status(e.getStatusCode())
-                        .body("Client error: " + e.getMessage());
-            } catch (ResourceAccessException e) {
-                log.warn("Timeout error: Unable to connect to MLB Stats API. Retrying in {} ms...", waitTime);
-                retryCount++;
-                try {
-                    Thread.sleep(waitTime);
-                } catch (InterruptedException interruptedException) {
-                    Thread.currentThread().interrupt();
-                    log.error("Interrupted during retry: {}", interruptedException.getMessage());
-                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .body("Interrupted during retry process.");
-                }
-            } catch (Exception e) {
-                log.error("Unexpected error: {}", e.getMessage());
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body("Unexpected error: " + e.getMessage());
-            }
+        String eTag = schedule.get().eTag();
+        if (ETagUtils.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
         }
 
-        log.error("Max retries reached. Unable to fetch MLB schedule.");
-        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                .body("Service is currently unavailable. Please try again later.");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(schedule.get().json());
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package org.example.worldsyncai.dto.calendar;
+
+/**
+ * Progress of a background "add favorite teams' games to Google Calendar" job.
+ *
+ * @param status QUEUED, RUNNING, COMPLETED or FAILED.
+ * @param unchangedEvents games whose event is already up to date.
+ * @param skippedEvents games whose event the user deleted (they are not added again) or without a start time yet.
+ */
+public record CalendarSyncJobDto(
+        String jobId,
+        String status,
+        int totalGames,
+        int processedGames,
+        int createdEvents,
+        int updatedEvents,
+        int unchangedEvents,
+        int skippedEvents,
+        int failedEvents,
+        String error
+) {
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package org.example.worldsyncai.dto.team;
+
+/**
+ * A player from an active MLB roster, flattened with the team they play for.
+ */
+public record RosterPlayerDto(
+        int playerId,
+        String fullName,
+        String positionName,
+        int teamId,
+        String teamName
+) {
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package org.example.worldsyncai.dto.team;
+
+import java.util.List;
+
+/**
+ * Team info and active roster, reduced to the fields the team page needs.
+ * Keeps the JSON shape of the MLB API ({@code teamInfo.teams[]}, {@code roster[].person}).
+ */
+public record TeamDetailsDto(TeamInfo teamInfo, List<RosterEntry> roster) {
+
+    public record TeamInfo(List<Team> teams) {
+    }
+
+    public record Team(int id, String name, String abbreviation, Reference venue, Reference league, Reference division) {
+    }
+
+    public record Reference(Integer id, String name) {
+    }
+
+    public record RosterEntry(Person person, String jerseyNumber, Position position) {
+    }
+
+    public record Person(int id, String fullName) {
+    }
+
+    public record Position(String code, String name, String abbreviation) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package org.example.worldsyncai.dto.team;
+
+/**
+ * One MLB club from the teams list, with the names used for matching and the facts used by trivia.
+ */
+public record TeamSummaryDto(
+        int id,
+        String name,
+        String teamName,
+        String shortName,
+        String clubName,
+        String franchiseName,
+        String locationName,
+        String abbreviation,
+        String firstYearOfPlay,
+        String venueName,
+        String leagueName,
+        String divisionName
+) {
+}
\ No newline at end of file
@@ -17,11 +17,25 @@ public class UserMapper {
         this.favoriteTeamMapper = favoriteTeamMapper;
     }
 
+    /**
+     * Maps the user's own columns only; {@code favoriteTeams} stays null, so the lazy collection is not loaded.
+     */
     public UserDto toDto(User user) {
+        return toDto(user, null);
+    }
+
+    /**
+     * Maps the user including favorite teams. Load the user with its favorites fetched to avoid an extra query.
+     */
+    public UserDto toDtoWithFavoriteTeams(User user) {
         List<FavoriteTeamDto> favoriteTeamDtos = user.getFavoriteTeams()
                 .stream()
                 .map(favoriteTeamMapper::toDto)
                 .collect(Collectors.toList());
+        return toDto(user, favoriteTeamDtos);
+    }
+
+    private UserDto toDto(User user, List<FavoriteTeamDto> favoriteTeamDtos) {
         UserDto userDto = new UserDto(user.getId(), user.getUsername(), user.getEmail(), user.getPassword(), favoriteTeamDtos, false);
 
         String token = user.getGoogleCalendarAccessToken();
@@ -0,0 +1,59 @@
+package org.example.worldsyncai.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A game event pushed to a user's Google Calendar, with a hash of the content that was sent.
+ */
+@Entity
+@Table(name = "calendar_game_event",
+        uniqueConstraints = @UniqueConstraint(name = "uk_calendar_game_event_user_game", columnNames = {"userId", "gamePk"}),
+        indexes = @Index(name = "idx_calendar_game_event_user", columnList = "userId"))
+@Data
+@NoArgsConstructor
+public class CalendarGameEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long gamePk;
+
+    @Column(nullable = false, length = 64)
+    private String eventId;
+
+    /**
+     * SHA-256 of the event fields we set; null when the event has not been written by us yet.
+     */
+    @Column(length = 64)
+    private String contentHash;
+
+    /**
+     * Set when the user removed the event from their calendar; such games are not added again.
+     */
+    @Column(nullable = false)
+    private boolean deletedByUser;
+
+    private Instant syncedAt;
+
+    public CalendarGameEvent(Long userId, Long gamePk, String eventId) {
+        this.userId = userId;
+        this.gamePk = gamePk;
+        this.eventId = eventId;
+    }
+}
\ No newline at end of file
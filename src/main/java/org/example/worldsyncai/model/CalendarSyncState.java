@@ -0,0 +1,32 @@
+package org.example.worldsyncai.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Per-user Google Calendar sync position: the token from the last events list.
+ */
+@Entity
+@Table(name = "calendar_sync_state")
+@Data
+@NoArgsConstructor
+public class CalendarSyncState {
+
+    @Id
+    private Long userId;
+
+    @Column(length = 1024)
+    private String syncToken;
+
+    private Instant lastSyncedAt;
+
+    public CalendarSyncState(Long userId) {
+        this.userId = userId;
+    }
+}
\ No newline at end of file
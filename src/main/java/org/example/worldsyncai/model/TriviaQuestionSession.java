@@ -0,0 +1,33 @@
+package org.example.worldsyncai.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "trivia_question_session", indexes = @Index(name = "idx_trivia_session_expires_at", columnList = "expiresAt"))
+@Data
+@NoArgsConstructor
+public class TriviaQuestionSession {
+
+    @Id
+    @Column(length = 36)
+    private String questionId;
+
+    @Column(nullable = false, length = 1000)
+    private String questionText;
+
+    @Column(nullable = false)
+    private String correctAnswer;
+
+    private String explanationKey;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
\ No newline at end of file
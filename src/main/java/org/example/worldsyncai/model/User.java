@@ -3,6 +3,7 @@ package org.example.worldsyncai.model;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,6 +22,11 @@ public class User {
 
     private String googleCalendarAccessToken;
     private String googleCalendarRefreshToken;
+    private Instant googleCalendarTokenExpiresAt;
+    /**
+     * Set after a failed background token refresh; the user is not picked for another one before then.
+     */
+    private Instant googleCalendarTokenRefreshRetryAt;
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<FavoriteTeam> favoriteTeams = new ArrayList<>();
@@ -0,0 +1,19 @@
+package org.example.worldsyncai.repository;
+
+import org.example.worldsyncai.model.CalendarGameEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface CalendarGameEventRepository extends JpaRepository<CalendarGameEvent, Long> {
+
+    List<CalendarGameEvent> findByUserId(Long userId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CalendarGameEvent e WHERE e.userId = :userId")
+    int deleteByUserId(Long userId);
+}
\ No newline at end of file
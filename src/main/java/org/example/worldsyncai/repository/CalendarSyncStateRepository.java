@@ -0,0 +1,15 @@
+package org.example.worldsyncai.repository;
+
+import org.example.worldsyncai.model.CalendarSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface CalendarSyncStateRepository extends JpaRepository<CalendarSyncState, Long> {
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE CalendarSyncState s SET s.syncToken = null WHERE s.userId = :userId")
+    int clearSyncToken(Long userId);
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package org.example.worldsyncai.repository;
+
+import org.example.worldsyncai.model.TriviaQuestionSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface TriviaQuestionSessionRepository extends JpaRepository<TriviaQuestionSession, String> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TriviaQuestionSession s WHERE s.expiresAt <= :now")
+    int deleteExpired(Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TriviaQuestionSession s WHERE s.questionId = :questionId")
+    int deleteByQuestionId(String questionId);
+}
\ No newline at end of file
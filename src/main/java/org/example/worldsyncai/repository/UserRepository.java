@@ -1,17 +1,43 @@
 package org.example.worldsyncai.repository;
 
 import org.example.worldsyncai.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(String username);
+
+    /**
+     * Loads the user and their favorite teams in one query.
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.favoriteTeams WHERE u.username = :username")
+    Optional<User> findWithFavoriteTeamsByUsername(String username);
+
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.favoriteTeams WHERE u.id = :id")
+    Optional<User> findWithFavoriteTeamsById(Long id);
+
     Optional<User> findByEmail(String email);
 
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Users with a refresh token whose access token expires before {@code threshold} (or has no known expiry),
+     * soonest first. Users whose last refresh failed are left out until their retry time has passed.
+     */
+    @Query("SELECT u FROM User u WHERE u.googleCalendarRefreshToken IS NOT NULL " +
+            "AND (u.googleCalendarTokenExpiresAt IS NULL OR u.googleCalendarTokenExpiresAt < :threshold) " +
+            "AND (u.googleCalendarTokenRefreshRetryAt IS NULL OR u.googleCalendarTokenRefreshRetryAt <= :now) " +
+            "ORDER BY u.googleCalendarTokenExpiresAt ASC NULLS FIRST")
+    List<User> findCalendarTokensExpiringBefore(Instant threshold, Instant now, Pageable pageable);
 }
\ No newline at end of file
@@ -10,12 +10,32 @@ public interface GoogleCalendarService {
 
     Calendar getCalendarService(String accessToken) throws IOException;
 
+    /**
+     * Returns a cached Calendar client for the user. Its credential refreshes the access token by itself
+     * and stores refreshed tokens on the user.
+     * @param userId ID of a user who connected Google Calendar.
+     */
+    Calendar getCalendarServiceForUser(Long userId);
+
+    /**
+     * Drops the cached client, e.g. after the user connected Google again with new tokens.
+     */
+    void evictUserCalendar(Long userId);
+
+    /**
+     * Stores tokens from a new Google authorization, with the access token's expiry, and drops the cached client.
+     * The calendar sync starts over, since the authorization may be for a different Google account.
+     */
+    void storeUserTokens(Long userId, TokenResponse tokens);
+
     Calendar getCalendarServiceFromCredentials()throws IOException;
 
     TokenResponse exchangeCodeForTokens(String code, String clientId, String clientSecret, String redirectUri) throws IOException;
 
     void createEvent(String accessToken, Event event) throws IOException;
 
+    void createEventForUser(Long userId, Event event) throws IOException;
+
     void createEventFromCredentials(Event event) throws IOException;
 
     TokenResponse refreshAccessToken(String refreshToken, String clientId, String clientSecret) throws IOException;
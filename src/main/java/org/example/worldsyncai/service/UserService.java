@@ -3,26 +3,59 @@ package org.example.worldsyncai.service;
 import org.example.worldsyncai.dto.UserDto;
 import org.example.worldsyncai.model.User;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserService {
 
     Optional<UserDto> getUserById(Long id);
 
+    /**
+     * @return the user with favorite teams, read in one query.
+     */
     Optional<UserDto> getUserByUsername(String username);
 
+    /**
+     * Reads only the ID, for callers that just need to know who the user is.
+     */
+    Optional<Long> findIdByUsername(String username);
+
     Optional<UserDto> addUser(UserDto userDto);
 
     Optional<UserDto> updateUser(Long id, UserDto userDto);
 
     void deleteUser(Long id);
 
-    void updateUserCalendarTokens(Long userId, String accessToken, String refreshToken);
+    /**
+     * @param refreshToken kept unchanged when null or blank.
+     * @param expiresAt when the access token expires, null if unknown.
+     */
+    void updateUserCalendarTokens(Long userId, String accessToken, String refreshToken, Instant expiresAt);
+
+    /**
+     * Forgets a refresh token Google no longer accepts; the user has to connect Google again.
+     */
+    void clearUserCalendarRefreshToken(Long userId);
+
+    /**
+     * Keeps the user out of {@link #findUsersWithCalendarTokenExpiringBefore} until {@code retryAt},
+     * after a token refresh failed for a reason other than a rejected refresh token.
+     */
+    void postponeUserCalendarTokenRefresh(Long userId, Instant retryAt);
+
+    /**
+     * @return at most {@code limit} users whose refreshable Google Calendar token expires before {@code threshold}
+     *         and whose refresh is not postponed.
+     */
+    List<User> findUsersWithCalendarTokenExpiringBefore(Instant threshold, int limit);
 
     String getUserCalendarToken(Long userId);
 
     Optional<User> findUserEntityById(Long id);
 
+    Optional<User> findUserEntityByUsername(String username);
+
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
@@ -0,0 +1,22 @@
+package org.example.worldsyncai.service.calendar;
+
+import org.example.worldsyncai.dto.calendar.CalendarSyncJobDto;
+
+import java.util.Optional;
+
+public interface CalendarSyncService {
+
+    /**
+     * Starts syncing the upcoming games of all the user's favorite teams to their Google Calendar:
+     * new games are added, changed ones updated, and games whose event the user deleted are left out.
+     * If a job for the user is still running, that job is returned instead of starting another one.
+     * @param userId ID of a user who connected Google Calendar.
+     * @return the job's initial status.
+     */
+    CalendarSyncJobDto startFavoriteTeamsSync(Long userId);
+
+    /**
+     * @return the job's current status, or empty if it is unknown, expired or belongs to another user.
+     */
+    Optional<CalendarSyncJobDto> getJob(String jobId, Long userId);
+}
\ No newline at end of file
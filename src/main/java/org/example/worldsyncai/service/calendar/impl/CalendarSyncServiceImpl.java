@@ -0,0 +1,450 @@
+package org.example.worldsyncai.service.calendar.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.services.calendar.Calendar;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.Events;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.worldsyncai.dto.FavoriteTeamDto;
+import org.example.worldsyncai.dto.calendar.CalendarSyncJobDto;
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
+import org.example.worldsyncai.model.CalendarGameEvent;
+import org.example.worldsyncai.model.CalendarSyncState;
+import org.example.worldsyncai.repository.CalendarGameEventRepository;
+import org.example.worldsyncai.repository.CalendarSyncStateRepository;
+import org.example.worldsyncai.service.FavoriteTeamService;
+import org.example.worldsyncai.service.GoogleCalendarService;
+import org.example.worldsyncai.service.UserService;
+import org.example.worldsyncai.service.calendar.CalendarSyncService;
+import org.example.worldsyncai.service.schedule.ScheduleStore;
+import org.example.worldsyncai.service.team.TeamCatalog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the upcoming games of a user's favorite teams in their primary Google Calendar.
+ * Every pushed game is indexed (gamePk, event ID, content hash), so a run only writes games that are new or changed;
+ * writes go through the Calendar batch API, 50 operations per HTTP call.
+ * Deletions made by the user are picked up incrementally with the events list {@code syncToken} and are respected.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarSyncServiceImpl implements CalendarSyncService {
+
+    private static final String PRIMARY_CALENDAR = "primary";
+    private static final String CANCELLED = "cancelled";
+    private static final int BATCH_SIZE = 50;
+    private static final int LIST_PAGE_SIZE = 2500;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_CONFLICT = 409;
+    private static final int HTTP_GONE = 410;
+    private static final ZoneId MLB_ZONE = ZoneId.of("America/New_York");
+
+    private final GoogleCalendarService googleCalendarService;
+    private final FavoriteTeamService favoriteTeamService;
+    private final UserService userService;
+    private final TeamCatalog teamCatalog;
+    private final ScheduleStore scheduleStore;
+    private final CalendarGameEventRepository gameEventRepository;
+    private final CalendarSyncStateRepository syncStateRepository;
+    private final ExecutorService upstreamExecutor;
+
+    @Value("${calendar.sync.max-jobs}")
+    private long maxJobs;
+
+    @Value("${calendar.sync.job-ttl-minutes}")
+    private long jobTtlMinutes;
+
+    /**
+     * Finished jobs stay queryable for a while, then expire.
+     */
+    private Cache<String, SyncJob> jobs;
+
+    private final Map<Long, SyncJob> runningJobs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initCache() {
+        jobs = Caffeine.newBuilder()
+                .maximumSize(maxJobs)
+                .expireAfterWrite(Duration.ofMinutes(jobTtlMinutes))
+                .build();
+    }
+
+    @Override
+    public CalendarSyncJobDto startFavoriteTeamsSync(Long userId) {
+        SyncJob job = new SyncJob(UUID.randomUUID().toString(), userId);
+        SyncJob running = runningJobs.putIfAbsent(userId, job);
+        if (running != null) {
+            return running.toDto();
+        }
+
+        jobs.put(job.id, job);
+        upstreamExecutor.execute(() -> run(job));
+        return job.toDto();
+    }
+
+    @Override
+    public Optional<CalendarSyncJobDto> getJob(String jobId, Long userId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId))
+                .filter(job -> job.userId.equals(userId))
+                .map(SyncJob::toDto);
+    }
+
+    /**
+     * Re-syncs every user who synced before, one after another, so rescheduled and postponed games get updated.
+     * Users without a Google Calendar token are skipped.
+     */
+    @Scheduled(fixedDelayString = "${calendar.sync.refresh-interval-ms}", initialDelayString = "${calendar.sync.refresh-interval-ms}")
+    public void refreshSyncedUsers() {
+        for (CalendarSyncState state : syncStateRepository.findAll()) {
+            Long userId = state.getUserId();
+            String token = userService.getUserCalendarToken(userId);
+            if (token == null || token.isBlank()) {
+                continue;
+            }
+
+            SyncJob job = new SyncJob(UUID.randomUUID().toString(), userId);
+            if (runningJobs.putIfAbsent(userId, job) == null) {
+                jobs.put(job.id, job);
+                run(job);
+            }
+        }
+    }
+
+    private void run(SyncJob job) {
+        job.status = "RUNNING";
+        try {
+            Calendar calendar = googleCalendarService.getCalendarServiceForUser(job.userId);
+            CalendarSyncState state = syncStateRepository.findById(job.userId)
+                    .orElseGet(() -> new CalendarSyncState(job.userId));
+
+            Map<Long, CalendarGameEvent> index = new HashMap<>();
+            for (CalendarGameEvent row : gameEventRepository.findByUserId(job.userId)) {
+                index.put(row.getGamePk(), row);
+            }
+
+            String syncToken = pullCalendarChanges(calendar, job.userId, index, state.getSyncToken());
+
+            List<PendingEvent> pending = new ArrayList<>();
+            List<JsonNode> games = collectGames(job.userId);
+            job.total.set(games.size());
+            for (JsonNode game : games) {
+                Event event = GameEvents.toEvent(game).orElse(null);
+                if (event == null) {
+                    // Picked up by a later run once the start time is known.
+                    log.debug("⏭️ Calendar sync {}: game {} has no start time yet", job.id, game.path("gamePk").asLong());
+                    job.skipped.incrementAndGet();
+                    job.processed.incrementAndGet();
+                    continue;
+                }
+                String hash = GameEvents.contentHash(event);
+                CalendarGameEvent row = index.get(game.path("gamePk").asLong());
+
+                if (row != null && row.isDeletedByUser()) {
+                    job.skipped.incrementAndGet();
+                    job.processed.incrementAndGet();
+                } else if (row != null && hash.equals(row.getContentHash())) {
+                    job.unchanged.incrementAndGet();
+                    job.processed.incrementAndGet();
+                } else {
+                    pending.add(new PendingEvent(game.path("gamePk").asLong(), event, hash, row));
+                }
+            }
+
+            for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+                pushBatch(calendar, pending.subList(from, Math.min(from + BATCH_SIZE, pending.size())), index, job);
+            }
+
+            // Read past our own writes, so the next run only sees what the user changed.
+            if (!pending.isEmpty()) {
+                syncToken = pullCalendarChanges(calendar, job.userId, index, syncToken);
+            }
+            state.setSyncToken(syncToken);
+            state.setLastSyncedAt(Instant.now());
+            syncStateRepository.save(state);
+
+            job.status = "COMPLETED";
+            log.info("✅ Calendar sync {} for user {}: {} created, {} updated, {} unchanged, {} skipped, {} failed",
+                    job.id, job.userId, job.created.get(), job.updated.get(), job.unchanged.get(),
+                    job.skipped.get(), job.failed.get());
+        } catch (Exception e) {
+            job.error = e.getMessage();
+            job.status = "FAILED";
+            log.error("❌ Calendar sync {} for user {} failed", job.id, job.userId, e);
+        } finally {
+            runningJobs.remove(job.userId, job);
+        }
+    }
+
+    /**
+     * Applies calendar changes since {@code syncToken} to the index. Without a token, or when Google
+     * answers 410 because the token expired, the whole calendar is listed once instead.
+     * @return the token for the next incremental read.
+     */
+    private String pullCalendarChanges(Calendar calendar, Long userId, Map<Long, CalendarGameEvent> index,
+                                       String syncToken) throws IOException {
+        if (syncToken != null) {
+            try {
+                return listChanges(calendar, userId, index, syncToken);
+            } catch (GoogleJsonResponseException e) {
+                if (e.getStatusCode() != HTTP_GONE) {
+                    throw e;
+                }
+                log.info("🔄 Calendar sync token of user {} expired, listing the full calendar", userId);
+            }
+        }
+        return listChanges(calendar, userId, index, null);
+    }
+
+    private String listChanges(Calendar calendar, Long userId, Map<Long, CalendarGameEvent> index,
+                               String syncToken) throws IOException {
+        boolean fullList = syncToken == null;
+        Set<Long> present = new HashSet<>();
+        Map<Long, CalendarGameEvent> changed = new HashMap<>();
+
+        Events page;
+        String pageToken = null;
+        do {
+            Calendar.Events.List request = calendar.events().list(PRIMARY_CALENDAR)
+                    .setMaxResults(LIST_PAGE_SIZE)
+                    .setShowDeleted(true)
+                    .setPageToken(pageToken)
+                    .setFields("items(id,status),nextPageToken,nextSyncToken");
+            if (!fullList) {
+                request.setSyncToken(syncToken);
+            }
+            page = request.execute();
+
+            for (Event item : page.getItems() != null ? page.getItems() : List.<Event>of()) {
+                Long gamePk = GameEvents.gamePk(item.getId());
+                if (gamePk == null) {
+                    continue;
+                }
+
+                boolean deleted = CANCELLED.equals(item.getStatus());
+                if (!deleted) {
+                    present.add(gamePk);
+                }
+
+                CalendarGameEvent row = index.get(gamePk);
+                if (row == null && deleted) {
+                    // Added before the index existed and since deleted by the user.
+                    row = new CalendarGameEvent(userId, gamePk, item.getId());
+                    row.setDeletedByUser(true);
+                    index.put(gamePk, row);
+                    changed.put(gamePk, row);
+                } else if (row != null && row.isDeletedByUser() != deleted) {
+                    row.setDeletedByUser(deleted);
+                    // A restored event is rewritten with the current game details.
+                    row.setContentHash(null);
+                    changed.put(gamePk, row);
+                }
+            }
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null);
+
+        if (fullList) {
+            // Events purged from the trash no longer show up at all.
+            for (CalendarGameEvent row : index.values()) {
+                if (!row.isDeletedByUser() && !present.contains(row.getGamePk())) {
+                    row.setDeletedByUser(true);
+                    changed.put(row.getGamePk(), row);
+                }
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            gameEventRepository.saveAll(changed.values());
+            log.debug("🗑️ Calendar of user {}: {} game events changed by the user", userId, changed.size());
+        }
+        return page.getNextSyncToken();
+    }
+
+    /**
+     * Inserts new games and updates changed ones in one batch; inserts of events that already exist (409)
+     * are retried as updates in a second batch. Written games are stored in the index with their new hash.
+     */
+    private void pushBatch(Calendar calendar, List<PendingEvent> batch, Map<Long, CalendarGameEvent> index,
+                           SyncJob job) throws IOException {
+        List<PendingEvent> conflicts = new ArrayList<>();
+        List<CalendarGameEvent> written = new ArrayList<>();
+
+        BatchRequest request = calendar.batch();
+        for (PendingEvent pending : batch) {
+            if (pending.row() == null) {
+                calendar.events().insert(PRIMARY_CALENDAR, pending.event()).queue(request, new JsonBatchCallback<>() {
+                    @Override
+                    public void onSuccess(Event created, HttpHeaders responseHeaders) {
+                        job.created.incrementAndGet();
+                        written.add(recordWrite(pending, index, job.userId));
+                        job.processed.incrementAndGet();
+                    }
+
+                    @Override
+                    public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                        if (error.getCode() == HTTP_CONFLICT) {
+                            conflicts.add(pending);
+                        } else {
+                            recordFailure(job, pending.event(), error);
+                        }
+                    }
+                });
+            } else {
+                queueUpdate(calendar, request, pending, index, written, job);
+            }
+        }
+        request.execute();
+
+        if (!conflicts.isEmpty()) {
+            BatchRequest updates = calendar.batch();
+            for (PendingEvent pending : conflicts) {
+                queueUpdate(calendar, updates, pending, index, written, job);
+            }
+            updates.execute();
+        }
+
+        gameEventRepository.saveAll(written);
+    }
+
+    private void queueUpdate(Calendar calendar, BatchRequest request, PendingEvent pending,
+                             Map<Long, CalendarGameEvent> index, List<CalendarGameEvent> written,
+                             SyncJob job) throws IOException {
+        Event event = pending.event();
+        calendar.events().update(PRIMARY_CALENDAR, event.getId(), event).queue(request, new JsonBatchCallback<>() {
+            @Override
+            public void onSuccess(Event updated, HttpHeaders responseHeaders) {
+                job.updated.incrementAndGet();
+                written.add(recordWrite(pending, index, job.userId));
+                job.processed.incrementAndGet();
+            }
+
+            @Override
+            public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                if (error.getCode() == HTTP_NOT_FOUND || error.getCode() == HTTP_GONE) {
+                    // Deleted for good on the user's side.
+                    CalendarGameEvent row = indexRow(pending, index, job.userId);
+                    row.setDeletedByUser(true);
+                    written.add(row);
+                    job.skipped.incrementAndGet();
+                    job.processed.incrementAndGet();
+                } else {
+                    recordFailure(job, event, error);
+                }
+            }
+        });
+    }
+
+    private CalendarGameEvent recordWrite(PendingEvent pending, Map<Long, CalendarGameEvent> index, Long userId) {
+        CalendarGameEvent row = indexRow(pending, index, userId);
+        row.setContentHash(pending.contentHash());
+        row.setSyncedAt(Instant.now());
+        return row;
+    }
+
+    private CalendarGameEvent indexRow(PendingEvent pending, Map<Long, CalendarGameEvent> index, Long userId) {
+        return index.computeIfAbsent(pending.gamePk(),
+                gamePk -> new CalendarGameEvent(userId, gamePk, pending.event().getId()));
+    }
+
+    private void recordFailure(SyncJob job, Event event, GoogleJsonError error) {
+        job.failed.incrementAndGet();
+        job.processed.incrementAndGet();
+        log.warn("⚠️ Calendar sync {}: event {} failed: {} {}", job.id, event.getId(), error.getCode(), error.getMessage());
+    }
+
+    /**
+     * Upcoming games of all favorite teams, each game once even if both teams are favorites.
+     * A postponed game is listed on its original date and again on the makeup date; the makeup entry wins.
+     */
+    private List<JsonNode> collectGames(Long userId) {
+        Set<String> favoriteNames = favoriteTeamService.getFavoriteTeamsByUserId(userId).stream()
+                .map(FavoriteTeamDto::teamName)
+                .filter(Objects::nonNull)
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet());
+
+        List<Integer> teamIds = teamCatalog.getTeams().stream()
+                .filter(team -> Stream.of(team.name(), team.teamName(), team.clubName(), team.shortName())
+                        .filter(Objects::nonNull)
+                        .anyMatch(name -> favoriteNames.contains(name.toLowerCase())))
+                .map(TeamSummaryDto::id)
+                .toList();
+
+        LocalDate today = LocalDate.now(MLB_ZONE);
+        Map<Long, JsonNode> games = new LinkedHashMap<>();
+        for (Integer teamId : teamIds) {
+            List<JsonNode> dates = scheduleStore.getDates(today, null, teamId)
+                    .orElseThrow(() -> new IllegalStateException("MLB schedule is not loaded yet."));
+            for (JsonNode date : dates) {
+                for (JsonNode game : date.path("games")) {
+                    games.merge(game.path("gamePk").asLong(), game,
+                            (current, other) -> GameEvents.isPostponed(current) ? other : current);
+                }
+            }
+        }
+        return new ArrayList<>(games.values());
+    }
+
+    /**
+     * A game to write; {@code row} is its index entry, null if it was never pushed.
+     */
+    private record PendingEvent(long gamePk, Event event, String contentHash, CalendarGameEvent row) {
+    }
+
+    private static final class SyncJob {
+
+        private final String id;
+        private final Long userId;
+        private final AtomicInteger total = new AtomicInteger();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger updated = new AtomicInteger();
+        private final AtomicInteger unchanged = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile String status = "QUEUED";
+        private volatile String error;
+
+        private SyncJob(String id, Long userId) {
+            this.id = id;
+            this.userId = userId;
+        }
+
+        private CalendarSyncJobDto toDto() {
+            return new CalendarSyncJobDto(id, status, total.get(), processed.get(), created.get(), updated.get(),
+                    unchanged.get(), skipped.get(), failed.get(), error);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package org.example.worldsyncai.service.calendar.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventDateTime;
+import org.example.worldsyncai.util.HashUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Maps MLB schedule games to Google Calendar events, the same way the game card on the schedule page does.
+ */
+final class GameEvents {
+
+    private static final Duration GAME_LENGTH = Duration.ofHours(3);
+    private static final String EVENT_ID_PREFIX = "mlbgame";
+    private static final String POSTPONED = "Postponed";
+
+    private GameEvents() {
+    }
+
+    /**
+     * Event IDs must use base32hex characters (a-v, 0-9); "mlbgame" plus the numeric gamePk qualifies.
+     * A fixed ID per game makes inserts idempotent: a retry hits 409 instead of creating a duplicate.
+     */
+    static String eventId(long gamePk) {
+        return EVENT_ID_PREFIX + gamePk;
+    }
+
+    /**
+     * @return the gamePk of one of our game events, or null for any other calendar event.
+     */
+    static Long gamePk(String eventId) {
+        if (eventId == null || !eventId.startsWith(EVENT_ID_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(EVENT_ID_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static boolean isPostponed(JsonNode game) {
+        return POSTPONED.equals(game.path("status").path("detailedState").asText());
+    }
+
+    /**
+     * @return the event, or empty while the game has no start time (missing, unparseable or still TBD).
+     */
+    static Optional<Event> toEvent(JsonNode game) {
+        String gameDate = game.path("gameDate").asText();
+        if (gameDate.isBlank() || game.path("status").path("startTimeTBD").asBoolean()) {
+            return Optional.empty();
+        }
+
+        DateTime start;
+        try {
+            start = DateTime.parseRfc3339(gameDate);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        DateTime end = new DateTime(start.getValue() + GAME_LENGTH.toMillis());
+
+        String awayTeam = game.path("teams").path("away").path("team").path("name").asText();
+        String homeTeam = game.path("teams").path("home").path("team").path("name").asText();
+        String venue = game.path("venue").path("name").asText();
+        String summary = "⚾ Match: " + awayTeam + " at " + homeTeam;
+
+        return Optional.of(new Event()
+                .setId(eventId(game.path("gamePk").asLong()))
+                .setStatus("confirmed")
+                .setSummary(isPostponed(game) ? summary + " (" + POSTPONED + ")" : summary)
+                .setDescription("📍 Venue: " + venue)
+                .setStart(new EventDateTime().setDateTime(start))
+                .setEnd(new EventDateTime().setDateTime(end)));
+    }
+
+    /**
+     * Hash of the fields we write, so an event is only sent again when the game changed (time, venue, postponement).
+     */
+    static String contentHash(Event event) {
+        return HashUtils.sha256Hex(String.join("\n",
+                event.getStatus(),
+                event.getSummary(),
+                event.getDescription(),
+                event.getStart().getDateTime().toStringRfc3339(),
+                event.getEnd().getDateTime().toStringRfc3339()));
+    }
+}
\ No newline at end of file
@@ -1,6 +1,22 @@
 package org.example.worldsyncai.service.chat;
 
+import java.util.function.Consumer;
+
 public interface AiService {
 
+    /**
+     * Reply returned by {@link #getAIResponse(String)} when the model call fails.
+     */
+    String ERROR_RESPONSE = "Error processing AI request.";
+
     String getAIResponse(String prompt);
-}
\ No newline at end of file
+
+    /**
+     * Streams the model response for the prompt, passing each text fragment to the consumer as soon as it arrives.
+     * Blocks until the stream is finished.
+     * @param prompt prompt sent to the model.
+     * @param onChunk receives the text fragments in order.
+     * @return true if the model reported a finish reason, false if the stream ended before that (cut off).
+     */
+    boolean streamAIResponse(String prompt, Consumer<String> onChunk);
+}
@@ -2,7 +2,21 @@ package org.example.worldsyncai.service.chat;
 
 import org.example.worldsyncai.dto.chat.ChatResponseDto;
 
+import java.util.function.Consumer;
+
 public interface ChatService {
 
-    ChatResponseDto processUserQuery(String message);
-}
\ No newline at end of file
+    /**
+     * Answers the user's message.
+     * @param message user's message.
+     * @param useCache whether a cached answer to the same question with the same MLB data may be returned.
+     * @return AI reply.
+     */
+    ChatResponseDto processUserQuery(String message, boolean useCache);
+
+    /**
+     * Streams the AI reply for the user's message, passing each text fragment to the consumer as it arrives.
+     * @return true if the reply is complete, false if the model stream was cut off.
+     */
+    boolean streamUserQuery(String message, boolean useCache, Consumer<String> onChunk);
+}
@@ -1,5 +1,6 @@
 package org.example.worldsyncai.service.chat;
 
+import java.util.List;
 import java.util.Map;
 
 public interface MlbApiService {
@@ -9,4 +10,13 @@ public interface MlbApiService {
     String getTeamSchedule(String teamId);
 
     Map<String, String> getTeamIdMap();
+
+    /**
+     * Finds every team mentioned in the text by name, nickname or abbreviation.
+     * Overlapping names resolve to the longest one ("White Sox" rather than "Sox").
+     * Abbreviations only count when written in capitals ("MIN", not "10 min").
+     * @param text the message as typed, not normalized.
+     * @return team IDs, names in order of appearance followed by abbreviations, without duplicates.
+     */
+    List<String> findTeamIds(String text);
 }
\ No newline at end of file
@@ -13,14 +13,18 @@ import org.example.worldsyncai.service.impl.SecretManagerService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
-import java.util.Scanner;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * Gemini AI service.
@@ -39,7 +43,9 @@ public class AiServiceImpl implements AiService {
     @Value("${google.cloud.model-name}")
     private String modelName;
 
-    private AccessToken accessToken;
+    private volatile AccessToken accessToken;
+
+    private final ReentrantLock tokenLock = new ReentrantLock();
 
     public AiServiceImpl(SecretManagerService secretManagerService) {
         this.secretManagerService = secretManagerService;
@@ -52,8 +58,10 @@ public class AiServiceImpl implements AiService {
 
     /**
      * Get a new Access Token from a service account.
+     * Uses a {@link ReentrantLock} rather than {@code synchronized}, so waiting virtual threads don't pin their carrier.
      */
     private void refreshAccessToken() {
+        tokenLock.lock();
         try {
             String jsonKey = secretManagerService.getCloudSqlClientKey();
             if (jsonKey == null || jsonKey.isEmpty()) {
@@ -70,80 +78,139 @@ public class AiServiceImpl implements AiService {
         } catch (Exception e) {
             log.error("❌ Error receiving Access Token.", e);
             throw new RuntimeException("Error receiving Access Token.", e);
+        } finally {
+            tokenLock.unlock();
         }
     }
 
     @Override
     public String getAIResponse(String prompt) {
         try {
-            if (accessToken == null || accessToken.getExpirationTime().before(new Date())) {
-                refreshAccessToken();
+            StringBuilder fullResponse = new StringBuilder();
+            if (!streamAIResponse(prompt, fullResponse::append)) {
+                log.warn("⚠️ AI response stream ended without a finish reason.");
+                return ERROR_RESPONSE;
+            }
+            return fullResponse.toString().trim();
+        } catch (Exception e) {
+            log.error("Error calling AI model.", e);
+            return ERROR_RESPONSE;
+        }
+    }
+
+    /**
+     * Requests the model with {@code alt=sse} and parses the Server-Sent Events line by line,
+     * so every chunk is handed over as soon as Vertex AI flushes it.
+     */
+    @Override
+    public boolean streamAIResponse(String prompt, Consumer<String> onChunk) {
+        try {
+            HttpURLConnection connection = openStreamConnection(prompt);
+            boolean finished = false;
+
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.startsWith("data:")) {
+                        continue;
+                    }
+
+                    String payload = line.substring("data:".length()).trim();
+                    if (!payload.isEmpty()) {
+                        finished |= emitTextParts(JsonParser.parseString(payload).getAsJsonObject(), onChunk);
+                    }
+                }
+            }
+            return finished;
+        } catch (IOException e) {
+            throw new RuntimeException("Error streaming AI response.", e);
+        }
+    }
+
+    private HttpURLConnection openStreamConnection(String prompt) throws IOException {
+        if (isAccessTokenExpired()) {
+            tokenLock.lock();
+            try {
+                if (isAccessTokenExpired()) {
+                    refreshAccessToken();
+                }
+            } finally {
+                tokenLock.unlock();
             }
+        }
 
-            String projectId = secretManagerService.getGoogleCloudProjectId();
+        String projectId = secretManagerService.getGoogleCloudProjectId();
 
-            String endpoint = String.format(
-                    "https://us-central1-aiplatform.googleapis.com/v1/projects/%s/locations/%s/publishers/google/models/%s:streamGenerateContent",
-                    projectId, location, modelName
-            );
+        String endpoint = String.format(
+                "https://us-central1-aiplatform.googleapis.com/v1/projects/%s/locations/%s/publishers/google/models/%s:streamGenerateContent?alt=sse",
+                projectId, location, modelName
+        );
 
-            log.info("🔍 Request to AI: {}", endpoint);
+        log.info("🔍 Request to AI: {}", endpoint);
 
-            JsonObject requestBody = new JsonObject();
-            JsonArray contentsArray = new JsonArray();
-            JsonObject contentObject = new JsonObject();
-            contentObject.addProperty("role", "user");
+        JsonObject requestBody = new JsonObject();
+        JsonArray contentsArray = new JsonArray();
+        JsonObject contentObject = new JsonObject();
+        contentObject.addProperty("role", "user");
 
-            JsonArray partsArray = new JsonArray();
-            JsonObject textPart = new JsonObject();
-            textPart.addProperty("text", prompt);
-            partsArray.add(textPart);
+        JsonArray partsArray = new JsonArray();
+        JsonObject textPart = new JsonObject();
+        textPart.addProperty("text", prompt);
+        partsArray.add(textPart);
 
-            contentObject.add("parts", partsArray);
-            contentsArray.add(contentObject);
+        contentObject.add("parts", partsArray);
+        contentsArray.add(contentObject);
 
-            requestBody.add("contents", contentsArray);
+        requestBody.add("contents", contentsArray);
 
-            URL url = new URL(endpoint);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Authorization", "Bearer " + accessToken.getTokenValue());
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setDoOutput(true);
+        URL url = new URL(endpoint);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Authorization", "Bearer " + accessToken.getTokenValue());
+        connection.setRequestProperty("Content-Type", "application/json");
+        connection.setRequestProperty("Accept", "text/event-stream");
+        connection.setDoOutput(true);
 
-            try (OutputStream os = connection.getOutputStream()) {
-                byte[] input = requestBody.toString().getBytes("utf-8");
-                os.write(input, 0, input.length);
-            }
+        try (OutputStream os = connection.getOutputStream()) {
+            byte[] input = requestBody.toString().getBytes(StandardCharsets.UTF_8);
+            os.write(input, 0, input.length);
+        }
 
-            String response;
-            try (Scanner scanner = new Scanner(connection.getInputStream(), "utf-8")) {
-                response = scanner.useDelimiter("\\A").next();
-            }
+        return connection;
+    }
 
-            JsonArray jsonArray = JsonParser.parseString(response).getAsJsonArray();
-            StringBuilder fullResponse = new StringBuilder();
+    private boolean isAccessTokenExpired() {
+        AccessToken token = accessToken;
+        return token == null || token.getExpirationTime().before(new Date());
+    }
+
+    /**
+     * @return true if the chunk carries the candidate's finish reason, i.e. it is the last one.
+     */
+    private boolean emitTextParts(JsonObject chunk, Consumer<String> onChunk) {
+        JsonArray candidates = chunk.getAsJsonArray("candidates");
+        if (candidates == null) {
+            return false;
+        }
 
-            for (JsonElement element : jsonArray) {
-                JsonObject jsonResponse = element.getAsJsonObject();
-                JsonArray candidates = jsonResponse.getAsJsonArray("candidates");
+        boolean finished = false;
+        for (JsonElement candidateElement : candidates) {
+            JsonObject candidate = candidateElement.getAsJsonObject();
+            finished |= candidate.has("finishReason");
 
-                for (JsonElement candidateElement : candidates) {
-                    JsonObject candidateObj = candidateElement.getAsJsonObject();
-                    JsonObject content = candidateObj.getAsJsonObject("content");
-                    JsonArray parts = content.getAsJsonArray("parts");
+            JsonObject content = candidate.getAsJsonObject("content");
+            if (content == null || !content.has("parts")) {
+                continue;
+            }
 
-                    for (JsonElement partElement : parts) {
-                        fullResponse.append(partElement.getAsJsonObject().get("text").getAsString()).append(" ");
-                    }
+            for (JsonElement partElement : content.getAsJsonArray("parts")) {
+                JsonElement text = partElement.getAsJsonObject().get("text");
+                if (text != null && !text.isJsonNull()) {
+                    onChunk.accept(text.getAsString());
                 }
             }
-
-            return fullResponse.toString().trim();
-
-        } catch (Exception e) {
-            log.error("Error calling AI model.", e);
-            return "Error processing AI request.";
         }
+        return finished;
     }
 }
\ No newline at end of file
@@ -1,5 +1,10 @@
 package org.example.worldsyncai.service.chat.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.worldsyncai.dto.chat.ChatResponseDto;
@@ -7,8 +12,14 @@ import org.example.worldsyncai.service.chat.ChatService;
 import org.example.worldsyncai.service.chat.MlbApiService;
 import org.example.worldsyncai.service.chat.AiService;
 import org.example.worldsyncai.service.chat.NLPService;
+import org.example.worldsyncai.util.HashUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * MLB request processing service.
  * Processing user questions and generating a request to AI.
@@ -22,9 +33,92 @@ public class ChatServiceImpl implements ChatService {
     private final MlbApiService mlbApiService;
     private final AiService aiService;
     private final NLPService nlpService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.answer-cache.max-size}")
+    private long answerCacheMaxSize;
+
+    @Value("${chat.answer-cache.ttl-minutes}")
+    private long answerCacheTtlMinutes;
+
+    /**
+     * AI answers keyed by normalized question and a fingerprint of the MLB context.
+     * When the schedule data changes the fingerprint changes too, so the TTL only bounds staleness of general answers.
+     */
+    private Cache<String, String> answerCache;
+
+    @PostConstruct
+    public void initCache() {
+        answerCache = Caffeine.newBuilder()
+                .maximumSize(answerCacheMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(answerCacheTtlMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, answerCache, "chatAnswers");
+    }
+
+    @Override
+    public ChatResponseDto processUserQuery(String message, boolean useCache) {
+        String mlbContext = buildMlbContext(message);
+        String cacheKey = answerCacheKey(message, mlbContext);
+
+        if (useCache) {
+            String cachedAnswer = answerCache.getIfPresent(cacheKey);
+            if (cachedAnswer != null) {
+                return new ChatResponseDto(cachedAnswer);
+            }
+        }
+
+        String aiResponse = aiService.getAIResponse(buildPrompt(message, mlbContext));
+        if (!AiService.ERROR_RESPONSE.equals(aiResponse) && !aiResponse.isBlank()) {
+            answerCache.put(cacheKey, aiResponse);
+        }
+
+        return new ChatResponseDto(aiResponse);
+    }
 
     @Override
-    public ChatResponseDto processUserQuery(String message) {
+    public boolean streamUserQuery(String message, boolean useCache, Consumer<String> onChunk) {
+        String mlbContext = buildMlbContext(message);
+        String cacheKey = answerCacheKey(message, mlbContext);
+
+        if (useCache) {
+            String cachedAnswer = answerCache.getIfPresent(cacheKey);
+            if (cachedAnswer != null) {
+                onChunk.accept(cachedAnswer);
+                return true;
+            }
+        }
+
+        StringBuilder fullResponse = new StringBuilder();
+        boolean finished = aiService.streamAIResponse(buildPrompt(message, mlbContext), chunk -> {
+            fullResponse.append(chunk);
+            onChunk.accept(chunk);
+        });
+
+        // A stream cut off before the model finished, or one without any text, is not worth replaying.
+        String answer = fullResponse.toString().trim();
+        if (finished && !answer.isEmpty()) {
+            answerCache.put(cacheKey, answer);
+        } else {
+            log.warn("⚠️ Not caching streamed answer (finished: {}, length: {})", finished, answer.length());
+        }
+        return finished;
+    }
+
+    private String answerCacheKey(String message, String mlbContext) {
+        return LocalIntentClassifier.normalize(message) + "|" + HashUtils.sha256Hex(mlbContext);
+    }
+
+    private String buildPrompt(String message, String mlbContext) {
+        return "User asks: " + message + "\n\n" + "MLB Context:\n" + mlbContext;
+    }
+
+    /**
+     * Detects the intent and collects the MLB data for the user's message.
+     */
+    private String buildMlbContext(String message) {
         String intent = nlpService.detectIntent(message);
         log.info("🔍 Detected intent: {}", intent);
 
@@ -46,21 +140,17 @@ public class ChatServiceImpl implements ChatService {
                 mlbContext = "I can help you with MLB schedules and player stats. Try asking about a specific team or player!";
         }
 
-        String prompt = "User asks: " + message + "\n\n" + "MLB Context:\n" + mlbContext;
-
-        String aiResponse = aiService.getAIResponse(prompt);
-
-        return new ChatResponseDto(aiResponse);
+        return mlbContext;
     }
 
     /**
      * Get command ID from the name in the text.
+     * The first team mentioned wins; longer names take precedence over the names they contain.
      */
     private String extractTeamId(String query) {
-        for (String teamName : mlbApiService.getTeamIdMap().keySet()) {
-            if (query.toLowerCase().contains(teamName)) {
-                return mlbApiService.getTeamIdByName(teamName);
-            }
+        List<String> teamIds = mlbApiService.findTeamIds(query);
+        if (!teamIds.isEmpty()) {
+            return teamIds.get(0);
         }
         log.warn("⚠️ No matching team found in query.");
         return "Unknown Team";
@@ -0,0 +1,75 @@
+package org.example.worldsyncai.service.chat.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.example.worldsyncai.service.chat.MlbApiService;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Keyword and team-name based intent detection that runs before Gemini.
+ * A message naming a team with an unambiguous schedule phrase ("schedule", "next game", "upcoming", "first pitch",
+ * "tonight"/"tomorrow" with "vs"/"against") is TEAM_SCHEDULE; a message with no team and no game-related word
+ * is GENERAL_QUESTION. Generic words such as "when", "home" or "play" also appear in stats and history questions
+ * ("How many home runs do the Yankees have?"), so they are left to the model.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalIntentClassifier {
+
+    private static final Pattern SCHEDULE_PHRASE = Pattern.compile(
+            "\\b(schedule|schedules|next game|next games|next match|upcoming|first pitch)\\b");
+
+    private static final Pattern GAME_DAY = Pattern.compile("\\b(tonight|tomorrow)\\b");
+
+    private static final Pattern OPPONENT = Pattern.compile("\\b(vs|versus|against)\\b");
+
+    private static final Pattern GAME_WORD = Pattern.compile(
+            "\\b(when|next|play|plays|playing|game|games|match|tonight|today|tomorrow|"
+                    + "vs|versus|against|start|starts|home|away)\\b");
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}\\s]");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final MlbApiService mlbApiService;
+
+    /**
+     * Lower-cases the message and strips punctuation and repeated whitespace.
+     */
+    public static String normalize(String message) {
+        String lowerCase = message.toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(NON_WORD.matcher(lowerCase).replaceAll(" ")).replaceAll(" ").trim();
+    }
+
+    /**
+     * @param message the message as typed; team abbreviations are only recognized in capitals.
+     */
+    public Classification classify(String message) {
+        String normalizedMessage = normalize(message);
+        boolean asksSchedule = asksSchedule(normalizedMessage);
+        boolean mentionsGame = asksSchedule || GAME_WORD.matcher(normalizedMessage).find();
+        boolean mentionsTeam = mentionsTeam(message);
+
+        if (mentionsTeam && asksSchedule) {
+            return new Classification("TEAM_SCHEDULE", true);
+        }
+        if (!mentionsTeam && !mentionsGame) {
+            return new Classification("GENERAL_QUESTION", true);
+        }
+        return new Classification("GENERAL_QUESTION", false);
+    }
+
+    private boolean asksSchedule(String normalizedMessage) {
+        return SCHEDULE_PHRASE.matcher(normalizedMessage).find()
+                || (GAME_DAY.matcher(normalizedMessage).find() && OPPONENT.matcher(normalizedMessage).find());
+    }
+
+    private boolean mentionsTeam(String message) {
+        return !mlbApiService.findTeamIds(message).isEmpty();
+    }
+
+    public record Classification(String intent, boolean confident) {
+    }
+}
\ No newline at end of file
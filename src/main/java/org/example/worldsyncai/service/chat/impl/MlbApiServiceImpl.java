@@ -4,71 +4,144 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.example.worldsyncai.client.MlbStatsClient;
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
 import org.example.worldsyncai.service.chat.MlbApiService;
+import org.example.worldsyncai.service.schedule.ScheduleStore;
+import org.example.worldsyncai.service.team.TeamCatalog;
+import org.example.worldsyncai.service.team.TeamCatalogRefreshedEvent;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 @Slf4j
 public class MlbApiServiceImpl implements MlbApiService {
 
-    private final RestTemplate restTemplate;
-    private final Map<String, String> teamIdMap = new HashMap<>();
+    /**
+     * Team abbreviations count only as standalone capitalized tokens, since many are also words ("min", "sea", "det").
+     */
+    private static final Pattern ABBREVIATION_TOKEN = Pattern.compile("\\b[A-Z]{2,3}\\b");
 
-    @Value("${mlb.teams.url}")
-    private String teamsUrl;
+    private final MlbStatsClient mlbStatsClient;
+    private final TeamCatalog teamCatalog;
+    private final ScheduleStore scheduleStore;
+    private volatile TeamIndex teamIndex = new TeamIndex(Map.of(), TeamNameMatcher.EMPTY, Map.of());
 
     @Value("${mlb.schedule.url}")
     private String scheduleUrl;
 
     /**
-     * Inject RestTemplate via constructor.
-     * Spring will inject bean from AppConfig.
+     * Inject MlbStatsClient, TeamCatalog and ScheduleStore via constructor.
+     * MlbStatsClient wraps the pooled RestTemplate bean from AppConfig.
      */
-    public MlbApiServiceImpl(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public MlbApiServiceImpl(MlbStatsClient mlbStatsClient, TeamCatalog teamCatalog, ScheduleStore scheduleStore) {
+        this.mlbStatsClient = mlbStatsClient;
+        this.teamCatalog = teamCatalog;
+        this.scheduleStore = scheduleStore;
     }
 
     /**
-     * Loads a list of MLB commands from the API.
-     * Caches their IDs after bean initialization.
+     * Builds the team index from the shared catalog after bean initialization.
+     * The name map and the matcher are rebuilt aside and swapped in together, so readers never see a partial list.
      */
     @PostConstruct
-    private void loadTeams() {
-        try {
-            String response = restTemplate.getForObject(teamsUrl, String.class);
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode jsonNode = objectMapper.readTree(response);
+    public void loadTeams() {
+        buildTeamIndex(teamCatalog.getTeams());
+    }
+
+    @EventListener
+    public void onTeamCatalogRefreshed(TeamCatalogRefreshedEvent event) {
+        buildTeamIndex(event.teams());
+    }
 
-            for (JsonNode team : jsonNode.get("teams")) {
-                String teamName = team.get("teamName").asText();
-                String fullName = team.get("name").asText();
-                String teamId = team.get("id").asText();
+    private void buildTeamIndex(List<TeamSummaryDto> teams) {
+        if (teams.isEmpty()) {
+            log.warn("⚠️ MLB team catalog is empty, keeping the current team index.");
+            return;
+        }
+
+        Map<String, String> newTeamIdMap = new HashMap<>();
+        Map<String, Set<String>> aliases = new HashMap<>();
+        Map<String, Set<String>> locations = new HashMap<>();
+        Map<String, String> abbreviations = new HashMap<>();
 
-                teamIdMap.put(teamName.toLowerCase(), teamId);
-                teamIdMap.put(fullName.toLowerCase(), teamId);
+        for (TeamSummaryDto team : teams) {
+            String teamId = String.valueOf(team.id());
+
+            if (team.teamName() != null) {
+                newTeamIdMap.put(team.teamName().toLowerCase(), teamId);
+            }
+            if (team.name() != null) {
+                newTeamIdMap.put(team.name().toLowerCase(), teamId);
+            }
+
+            for (String alias : Arrays.asList(team.name(), team.teamName(), team.clubName(), team.shortName())) {
+                addAlias(aliases, alias, teamId);
+            }
+            if (team.abbreviation() != null && !team.abbreviation().isBlank()) {
+                abbreviations.put(team.abbreviation().trim().toUpperCase(), teamId);
+            }
+            for (String location : Arrays.asList(team.franchiseName(), team.locationName())) {
+                addAlias(locations, location, teamId);
             }
-        } catch (Exception e) {
-            log.error("Error loading MLB teams", e);
+        }
+
+        // A city only identifies a team when no other club shares it ("Boston" yes, "New York" no).
+        locations.forEach((location, teamIds) -> {
+            if (teamIds.size() == 1) {
+                aliases.computeIfAbsent(location, key -> new TreeSet<>()).addAll(teamIds);
+            }
+        });
+
+        teamIndex = new TeamIndex(Collections.unmodifiableMap(newTeamIdMap), TeamNameMatcher.build(aliases),
+                Map.copyOf(abbreviations));
+    }
+
+    private void addAlias(Map<String, Set<String>> aliases, String alias, String teamId) {
+        if (alias == null) {
+            return;
+        }
+        String normalizedAlias = LocalIntentClassifier.normalize(alias);
+        if (!normalizedAlias.isEmpty()) {
+            aliases.computeIfAbsent(normalizedAlias, key -> new TreeSet<>()).add(teamId);
         }
     }
 
     @Override
     public String getTeamIdByName(String name) {
-        String team = teamIdMap.getOrDefault(name.toLowerCase(), "Unknown Team");
+        String team = teamIndex.teamIdMap().getOrDefault(name.toLowerCase(), "Unknown Team");
         return team;
     }
 
+    /**
+     * Answers from the in-memory season schedule; only calls the MLB API while that is not loaded.
+     */
     @Override
     public String getTeamSchedule(String teamId) {
+        Optional<List<JsonNode>> storedDates = parseTeamId(teamId)
+                .flatMap(id -> scheduleStore.getDates(null, null, id));
+        if (storedDates.isPresent()) {
+            return describeFirstGame(storedDates.get());
+        }
+
         String url = scheduleUrl + "&teamId=" + teamId;
 
         try {
-            String response = restTemplate.getForObject(url, String.class);
+            String response = mlbStatsClient.get(url);
 
             ObjectMapper objectMapper = new ObjectMapper();
             JsonNode jsonResponse = objectMapper.readTree(response);
@@ -78,19 +151,9 @@ public class MlbApiServiceImpl implements MlbApiService {
                 return "The team has no upcoming games.";
             }
 
-            JsonNode firstDate = datesArray.get(0);
-            String gameDate = firstDate.get("date").asText();
-            JsonNode gamesArray = firstDate.get("games");
-
-            if (gamesArray == null || gamesArray.isEmpty()) {
-                return "The team has no upcoming games.";
-            }
-
-            JsonNode firstGame = gamesArray.get(0);
-            String homeTeam = firstGame.get("teams").get("home").get("team").get("name").asText();
-            String awayTeam = firstGame.get("teams").get("away").get("team").get("name").asText();
-
-            return String.format("Next game: %s vs %s on %s.", awayTeam, homeTeam, gameDate);
+            List<JsonNode> dates = new ArrayList<>();
+            datesArray.forEach(dates::add);
+            return describeFirstGame(dates);
 
         } catch (Exception e) {
             log.error("Error processing MLB API schedule.", e);
@@ -98,11 +161,61 @@ public class MlbApiServiceImpl implements MlbApiService {
         }
     }
 
+    private String describeFirstGame(List<JsonNode> dates) {
+        if (dates.isEmpty()) {
+            return "The team has no upcoming games.";
+        }
+
+        JsonNode firstDate = dates.get(0);
+        String gameDate = firstDate.get("date").asText();
+        JsonNode gamesArray = firstDate.get("games");
+
+        if (gamesArray == null || gamesArray.isEmpty()) {
+            return "The team has no upcoming games.";
+        }
+
+        JsonNode firstGame = gamesArray.get(0);
+        String homeTeam = firstGame.get("teams").get("home").get("team").get("name").asText();
+        String awayTeam = firstGame.get("teams").get("away").get("team").get("name").asText();
+
+        return String.format("Next game: %s vs %s on %s.", awayTeam, homeTeam, gameDate);
+    }
+
+    private Optional<Integer> parseTeamId(String teamId) {
+        try {
+            return Optional.of(Integer.parseInt(teamId));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Returns a cached map of teamIds to look up in `ChatServiceImpl`.
      */
     @Override
     public Map<String, String> getTeamIdMap() {
-        return teamIdMap;
+        return teamIndex.teamIdMap();
+    }
+
+    @Override
+    public List<String> findTeamIds(String text) {
+        TeamIndex index = teamIndex;
+        Set<String> teamIds = new LinkedHashSet<>(index.matcher().findTeamIds(LocalIntentClassifier.normalize(text)));
+
+        Matcher token = ABBREVIATION_TOKEN.matcher(text);
+        while (token.find()) {
+            String teamId = index.abbreviations().get(token.group());
+            if (teamId != null) {
+                teamIds.add(teamId);
+            }
+        }
+        return List.copyOf(teamIds);
+    }
+
+    /**
+     * Name lookups built from one teams response, published as a single reference.
+     * Abbreviations are kept apart from the names and matched case-sensitively on the raw text.
+     */
+    private record TeamIndex(Map<String, String> teamIdMap, TeamNameMatcher matcher, Map<String, String> abbreviations) {
     }
 }
\ No newline at end of file
@@ -2,6 +2,11 @@ package org.example.worldsyncai.service.chat.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.worldsyncai.service.chat.NLPService;
@@ -14,6 +19,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -22,11 +29,70 @@ public class NLPServiceImpl implements NLPService {
     @Value("${gemini.api.url}")
     private String geminiApiUrl;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
 
     private final SecretManagerService secretManagerService;
 
+    private final LocalIntentClassifier localIntentClassifier;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.intent-cache.max-size}")
+    private long intentCacheMaxSize;
+
+    @Value("${chat.intent-cache.ttl-minutes}")
+    private long intentCacheTtlMinutes;
+
+    private Cache<String, String> intentCache;
+
+    @PostConstruct
+    public void initCache() {
+        intentCache = Caffeine.newBuilder()
+                .maximumSize(intentCacheMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(intentCacheTtlMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, intentCache, "chatIntents");
+    }
+
+    /**
+     * Resolves the intent from the cache of past classifications, then the local classifier,
+     * and asks Gemini only when the local result is not confident.
+     * Counted in {@code chat.intent.classifications} by source (cache, local, gemini, error).
+     * The cache is keyed by the message as typed: team abbreviations are only recognized in capitals,
+     * so "NYY" and "nyy" can classify differently.
+     */
     public String detectIntent(String message) {
+        String cacheKey = message.strip();
+
+        String cachedIntent = intentCache.getIfPresent(cacheKey);
+        if (cachedIntent != null) {
+            countClassification("cache");
+            return cachedIntent;
+        }
+
+        LocalIntentClassifier.Classification classification = localIntentClassifier.classify(message);
+        String intent;
+        if (classification.confident()) {
+            countClassification("local");
+            intent = classification.intent();
+        } else {
+            try {
+                intent = detectIntentWithGemini(message);
+                countClassification("gemini");
+            } catch (Exception e) {
+                log.error("❌ Error calling Gemini API", e);
+                countClassification("error");
+                return "GENERAL_QUESTION";
+            }
+        }
+
+        intentCache.put(cacheKey, intent);
+        return intent;
+    }
+
+    private String detectIntentWithGemini(String message) {
         String apiKey = secretManagerService.getGeminiApiKey();
         log.info("🔍 API key from Secret Manager: {}", apiKey);
 
@@ -35,26 +101,24 @@ public class NLPServiceImpl implements NLPService {
             throw new RuntimeException("There is no API key. Check your settings.");
         }
 
-        try {
-            String requestBody = "{ " +
-                    "\"contents\": [{ \"parts\": [{ \"text\": \"Classify this user question: '" + message +
-                    "' into one of the intents: TEAM_SCHEDULE, GENERAL_QUESTION\" }]}], " +
-                    "\"generationConfig\": { \"maxOutputTokens\": 10 } }";
+        String requestBody = "{ " +
+                "\"contents\": [{ \"parts\": [{ \"text\": \"Classify this user question: '" + message +
+                "' into one of the intents: TEAM_SCHEDULE, GENERAL_QUESTION\" }]}], " +
+                "\"generationConfig\": { \"maxOutputTokens\": 10 } }";
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
 
-            HttpEntity<String> request = new HttpEntity<>(requestBody, headers);
-            String url = geminiApiUrl + "?key=" + apiKey;
+        HttpEntity<String> request = new HttpEntity<>(requestBody, headers);
+        String url = geminiApiUrl + "?key=" + apiKey;
 
-            ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
+        ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
 
-            return parseIntent(response.getBody());
+        return parseIntent(response.getBody());
+    }
 
-        } catch (Exception e) {
-            log.error("❌ Error calling Gemini API", e);
-            return "GENERAL_QUESTION";
-        }
+    private void countClassification(String source) {
+        meterRegistry.counter("chat.intent.classifications", "source", source).increment();
     }
 
     private String parseIntent(String response) {
@@ -0,0 +1,140 @@
+package org.example.worldsyncai.service.chat.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Immutable Aho-Corasick automaton over normalized team names, nicknames and unambiguous cities.
+ * Finds all team mentions in one pass over the message; overlapping names are resolved leftmost-longest,
+ * so "chicago white sox" wins over "white sox" and "sox".
+ * Patterns must be normalized the same way as the searched text (see {@link LocalIntentClassifier#normalize(String)}).
+ */
+final class TeamNameMatcher {
+
+    static final TeamNameMatcher EMPTY = build(Map.of());
+
+    private final Node root;
+
+    private TeamNameMatcher(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @param patterns normalized name mapped to the IDs of every team it refers to.
+     */
+    static TeamNameMatcher build(Map<String, ? extends Set<String>> patterns) {
+        Node root = new Node(0);
+
+        patterns.forEach((pattern, teamIds) -> {
+            if (pattern.isBlank() || teamIds.isEmpty()) {
+                return;
+            }
+            Node node = root;
+            for (int i = 0; i < pattern.length(); i++) {
+                int depth = i + 1;
+                node = node.children.computeIfAbsent(pattern.charAt(i), c -> new Node(depth));
+            }
+            node.teamIds = List.copyOf(teamIds);
+        });
+
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.children.values()) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+                char c = entry.getKey();
+                Node child = entry.getValue();
+
+                Node fail = node.fail;
+                while (fail != root && !fail.children.containsKey(c)) {
+                    fail = fail.fail;
+                }
+                Node target = fail.children.get(c);
+                child.fail = target != null && target != child ? target : root;
+                child.output = child.fail.teamIds != null ? child.fail : child.fail.output;
+
+                queue.add(child);
+            }
+        }
+
+        return new TeamNameMatcher(root);
+    }
+
+    /**
+     * @param normalizedText text in the same normalized form as the patterns.
+     * @return IDs of the mentioned teams in order of appearance, without duplicates.
+     */
+    List<String> findTeamIds(String normalizedText) {
+        List<Match> matches = new ArrayList<>();
+
+        Node node = root;
+        for (int i = 0; i < normalizedText.length(); i++) {
+            char c = normalizedText.charAt(i);
+            while (node != root && !node.children.containsKey(c)) {
+                node = node.fail;
+            }
+            node = node.children.getOrDefault(c, root);
+
+            for (Node hit = node.teamIds != null ? node : node.output; hit != null; hit = hit.output) {
+                int start = i + 1 - hit.depth;
+                if (isWordBoundary(normalizedText, start - 1) && isWordBoundary(normalizedText, i + 1)) {
+                    matches.add(new Match(start, i + 1, hit.teamIds));
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingInt(Match::start)
+                .thenComparing(Comparator.comparingInt(Match::length).reversed()));
+
+        Set<String> teamIds = new LinkedHashSet<>();
+        int coveredUntil = 0;
+        for (Match match : matches) {
+            if (match.start() < coveredUntil) {
+                continue;
+            }
+            teamIds.addAll(match.teamIds());
+            coveredUntil = match.end();
+        }
+        return List.copyOf(teamIds);
+    }
+
+    private static boolean isWordBoundary(String text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private static final class Node {
+
+        private final int depth;
+
+        private final Map<Character, Node> children = new HashMap<>();
+
+        private Node fail;
+
+        /** Nearest node on the failure chain that ends a pattern. */
+        private Node output;
+
+        /** Set when a pattern ends at this node. */
+        private List<String> teamIds;
+
+        private Node(int depth) {
+            this.depth = depth;
+        }
+    }
+
+    private record Match(int start, int end, List<String> teamIds) {
+
+        int length() {
+            return end - start;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.example.worldsyncai.service.game;
+
+import java.util.List;
+
+/**
+ * Output of a {@link TriviaQuestionGenerator}.
+ *
+ * @param questionKey identifies the question independent of option order, e.g. {@code "venue|Fenway Park"}.
+ *                    Used to avoid repeats per user and as the explanation cache key.
+ */
+public record GeneratedQuestion(
+        String questionKey,
+        String questionText,
+        List<String> options,
+        String correctAnswer
+) {
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package org.example.worldsyncai.service.game;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * One kind of trivia question. Every Spring bean implementing this interface is picked up by the trivia service.
+ * Implementations must work only from local snapshots (team and roster catalogs), never from per-call upstream requests.
+ */
+public interface TriviaQuestionGenerator {
+
+    /**
+     * @return short, stable name of the question type, e.g. {@code "teamYear"}.
+     */
+    String type();
+
+    /**
+     * @param random source of all randomness, so a fixed {@code trivia.seed} reproduces the same questions.
+     * @return a question, or empty if the data it needs is not loaded yet.
+     */
+    Optional<GeneratedQuestion> generate(SplittableRandom random);
+}
\ No newline at end of file
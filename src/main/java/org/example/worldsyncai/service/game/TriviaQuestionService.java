@@ -5,10 +5,11 @@ import org.example.worldsyncai.dto.game.TriviaQuestionDto;
 public interface TriviaQuestionService {
 
     /**
-     * Generates a random question via the MLB API.
+     * Returns a random question built from cached MLB data.
+     * @param username user asking, used to avoid repeating recent questions; {@code null} disables that.
      * @return an object with the question and answer options.
      */
-    TriviaQuestionDto getRandomQuestion();
+    TriviaQuestionDto getRandomQuestion(String username);
 
     /**
      * Checks the user's answer to the question.
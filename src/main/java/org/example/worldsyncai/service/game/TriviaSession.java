@@ -0,0 +1,21 @@
+package org.example.worldsyncai.service.game;
+
+import java.time.Instant;
+
+/**
+ * Everything needed to check an answer for one issued trivia question.
+ *
+ * @param explanationKey cache key of the AI explanation, shared by all sessions asking the same question.
+ */
+public record TriviaSession(
+        String questionId,
+        String questionText,
+        String correctAnswer,
+        String explanationKey,
+        Instant expiresAt
+) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package org.example.worldsyncai.service.game;
+
+import java.util.Optional;
+
+/**
+ * Keeps issued trivia questions until they are answered or expire.
+ * The backend is selected with {@code trivia.session-store} ({@code memory} or {@code jdbc}).
+ */
+public interface TriviaSessionStore {
+
+    void save(TriviaSession session);
+
+    /**
+     * @return the session, or empty if it is unknown or already expired.
+     */
+    Optional<TriviaSession> find(String questionId);
+
+    /**
+     * Removes the session and returns it, atomically: of several concurrent calls for one question,
+     * only one gets the session.
+     * @return the removed session, or empty if it is unknown, expired or already taken.
+     */
+    Optional<TriviaSession> take(String questionId);
+}
\ No newline at end of file
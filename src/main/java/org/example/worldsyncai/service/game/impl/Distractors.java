@@ -0,0 +1,56 @@
+package org.example.worldsyncai.service.game.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+/**
+ * Builds answer options: the correct answer plus distinct wrong ones, in random order.
+ * Answers are compared case-insensitively, the same way they are checked.
+ */
+final class Distractors {
+
+    static final int OPTION_COUNT = 4;
+
+    private static final int YEAR_RANGE = 20;
+
+    private Distractors() {
+    }
+
+    /**
+     * @return the shuffled options, or empty if there are not enough distinct wrong answers.
+     */
+    static Optional<List<String>> options(SplittableRandom random, String correctAnswer, Collection<String> candidates) {
+        TreeSet<String> distinct = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        candidates.stream().filter(Objects::nonNull).filter(candidate -> !candidate.isBlank()).forEach(distinct::add);
+        distinct.remove(correctAnswer);
+
+        if (distinct.size() < OPTION_COUNT - 1) {
+            return Optional.empty();
+        }
+
+        List<String> wrong = new ArrayList<>(distinct);
+        Collections.shuffle(wrong, random);
+
+        List<String> options = new ArrayList<>(wrong.subList(0, OPTION_COUNT - 1));
+        options.add(correctAnswer);
+        Collections.shuffle(options, random);
+        return Optional.of(List.copyOf(options));
+    }
+
+    /**
+     * Years around {@code year}, never after {@code maxYear}.
+     */
+    static List<String> nearbyYears(int year, int maxYear) {
+        return IntStream.rangeClosed(year - YEAR_RANGE, Math.min(year + YEAR_RANGE, maxYear))
+                .filter(candidate -> candidate != year)
+                .mapToObj(String::valueOf)
+                .toList();
+    }
+}
\ No newline at end of file
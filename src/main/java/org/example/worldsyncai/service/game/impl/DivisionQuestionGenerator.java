@@ -0,0 +1,47 @@
+package org.example.worldsyncai.service.game.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
+import org.example.worldsyncai.service.game.GeneratedQuestion;
+import org.example.worldsyncai.service.game.TriviaQuestionGenerator;
+import org.example.worldsyncai.service.team.TeamCatalog;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * "In which division do the Boston Red Sox play?"
+ */
+@Component
+@RequiredArgsConstructor
+public class DivisionQuestionGenerator implements TriviaQuestionGenerator {
+
+    private final TeamCatalog teamCatalog;
+
+    @Override
+    public String type() {
+        return "division";
+    }
+
+    @Override
+    public Optional<GeneratedQuestion> generate(SplittableRandom random) {
+        List<TeamSummaryDto> teams = teamCatalog.getTeams().stream()
+                .filter(team -> team.name() != null && team.divisionName() != null)
+                .toList();
+        if (teams.isEmpty()) {
+            return Optional.empty();
+        }
+
+        TeamSummaryDto team = teams.get(random.nextInt(teams.size()));
+        List<String> divisions = teams.stream().map(TeamSummaryDto::divisionName).toList();
+
+        return Distractors.options(random, team.divisionName(), divisions)
+                .map(options -> new GeneratedQuestion(
+                        type() + "|" + team.name() + "|" + team.divisionName(),
+                        "In which division do the " + team.name() + " play?",
+                        options,
+                        team.divisionName()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package org.example.worldsyncai.service.game.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.example.worldsyncai.service.game.TriviaSession;
+import org.example.worldsyncai.service.game.TriviaSessionStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Single-instance store: bounded, and every entry is dropped at its own {@link TriviaSession#expiresAt()}.
+ */
+@Service
+@ConditionalOnProperty(name = "trivia.session-store", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryTriviaSessionStore implements TriviaSessionStore {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${trivia.session.max-size}")
+    private long maxSize;
+
+    private Cache<String, TriviaSession> sessions;
+
+    @PostConstruct
+    public void initCache() {
+        sessions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, TriviaSession>() {
+                    @Override
+                    public long expireAfterCreate(String key, TriviaSession session, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), session.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TriviaSession session, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, session, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TriviaSession session, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, "triviaSessions");
+    }
+
+    @Override
+    public void save(TriviaSession session) {
+        sessions.put(session.questionId(), session);
+    }
+
+    @Override
+    public Optional<TriviaSession> find(String questionId) {
+        return Optional.ofNullable(sessions.getIfPresent(questionId));
+    }
+
+    @Override
+    public Optional<TriviaSession> take(String questionId) {
+        return Optional.ofNullable(sessions.asMap().remove(questionId));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package org.example.worldsyncai.service.game.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.worldsyncai.model.TriviaQuestionSession;
+import org.example.worldsyncai.repository.TriviaQuestionSessionRepository;
+import org.example.worldsyncai.service.game.TriviaSession;
+import org.example.worldsyncai.service.game.TriviaSessionStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Database-backed store: questions survive restarts and can be answered on any replica.
+ * Expired rows are ignored on read and purged in the background.
+ * A question is taken by deleting its row, so only the replica whose delete hits the row gets the session.
+ */
+@Service
+@ConditionalOnProperty(name = "trivia.session-store", havingValue = "jdbc")
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcTriviaSessionStore implements TriviaSessionStore {
+
+    private final TriviaQuestionSessionRepository repository;
+
+    @Override
+    public void save(TriviaSession session) {
+        TriviaQuestionSession entity = new TriviaQuestionSession();
+        entity.setQuestionId(session.questionId());
+        entity.setQuestionText(session.questionText());
+        entity.setCorrectAnswer(session.correctAnswer());
+        entity.setExplanationKey(session.explanationKey());
+        entity.setExpiresAt(session.expiresAt());
+        repository.save(entity);
+    }
+
+    @Override
+    public Optional<TriviaSession> find(String questionId) {
+        Instant now = Instant.now();
+        return repository.findById(questionId)
+                .map(entity -> new TriviaSession(
+                        entity.getQuestionId(),
+                        entity.getQuestionText(),
+                        entity.getCorrectAnswer(),
+                        entity.getExplanationKey(),
+                        entity.getExpiresAt()))
+                .filter(session -> !session.isExpired(now));
+    }
+
+    @Override
+    @Transactional
+    public Optional<TriviaSession> take(String questionId) {
+        return find(questionId).filter(session -> repository.deleteByQuestionId(questionId) == 1);
+    }
+
+    @Scheduled(fixedDelayString = "${trivia.session.purge-interval-ms}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("🧹 Purged {} expired trivia sessions", deleted);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package org.example.worldsyncai.service.game.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.example.worldsyncai.dto.team.RosterPlayerDto;
+import org.example.worldsyncai.service.game.GeneratedQuestion;
+import org.example.worldsyncai.service.game.TriviaQuestionGenerator;
+import org.example.worldsyncai.service.team.RosterCatalog;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * "What position does Rafael Devers play for the Boston Red Sox?"
+ */
+@Component
+@RequiredArgsConstructor
+public class PlayerPositionQuestionGenerator implements TriviaQuestionGenerator {
+
+    private final RosterCatalog rosterCatalog;
+
+    @Override
+    public String type() {
+        return "playerPosition";
+    }
+
+    @Override
+    public Optional<GeneratedQuestion> generate(SplittableRandom random) {
+        List<RosterPlayerDto> players = rosterCatalog.getPlayers().stream()
+                .filter(player -> player.positionName() != null)
+                .toList();
+        if (players.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RosterPlayerDto player = players.get(random.nextInt(players.size()));
+        List<String> positions = players.stream().map(RosterPlayerDto::positionName).toList();
+
+        return Distractors.options(random, player.positionName(), positions)
+                .map(options -> new GeneratedQuestion(
+                        type() + "|" + player.playerId() + "|" + player.positionName(),
+                        "What position does " + player.fullName() + " play for the " + player.teamName() + "?",
+                        options,
+                        player.positionName()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package org.example.worldsyncai.service.game.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.example.worldsyncai.dto.team.RosterPlayerDto;
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
+import org.example.worldsyncai.service.game.GeneratedQuestion;
+import org.example.worldsyncai.service.game.TriviaQuestionGenerator;
+import org.example.worldsyncai.service.team.RosterCatalog;
+import org.example.worldsyncai.service.team.TeamCatalog;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * "Which team does Rafael Devers play for?"
+ */
+@Component
+@RequiredArgsConstructor
+public class RosterPlayerQuestionGenerator implements TriviaQuestionGenerator {
+
+    private final TeamCatalog teamCatalog;
+    private final RosterCatalog rosterCatalog;
+
+    @Override
+    public String type() {
+        return "rosterPlayer";
+    }
+
+    @Override
+    public Optional<GeneratedQuestion> generate(SplittableRandom random) {
+        List<RosterPlayerDto> players = rosterCatalog.getPlayers();
+        if (players.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RosterPlayerDto player = players.get(random.nextInt(players.size()));
+
+        // Namesakes on other rosters would make those teams correct as well.
+        Set<String> teamsWithName = players.stream()
+                .filter(other -> other.fullName().equalsIgnoreCase(player.fullName()))
+                .map(RosterPlayerDto::teamName)
+                .collect(Collectors.toSet());
+        List<String> otherTeams = teamCatalog.getTeams().stream()
+                .map(TeamSummaryDto::name)
+                .filter(name -> name != null && !teamsWithName.contains(name))
+                .toList();
+
+        return Distractors.options(random, player.teamName(), otherTeams)
+                .map(options -> new GeneratedQuestion(
+                        type() + "|" + player.playerId() + "|" + player.teamName(),
+                        "Which team does " + player.fullName() + " play for?",
+                        options,
+                        player.teamName()));
+    }
+}
\ No newline at end of file
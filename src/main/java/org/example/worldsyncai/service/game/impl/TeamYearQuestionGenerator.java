@@ -0,0 +1,48 @@
+package org.example.worldsyncai.service.game.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
+import org.example.worldsyncai.service.game.GeneratedQuestion;
+import org.example.worldsyncai.service.game.TriviaQuestionGenerator;
+import org.example.worldsyncai.service.team.TeamCatalog;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * "In what year was the Boston Red Sox club founded?"
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamYearQuestionGenerator implements TriviaQuestionGenerator {
+
+    private final TeamCatalog teamCatalog;
+
+    @Override
+    public String type() {
+        return "teamYear";
+    }
+
+    @Override
+    public Optional<GeneratedQuestion> generate(SplittableRandom random) {
+        List<TeamSummaryDto> teams = teamCatalog.getTeams().stream()
+                .filter(team -> team.name() != null && team.firstYearOfPlay() != null && team.firstYearOfPlay().matches("\\d{4}"))
+                .toList();
+        if (teams.isEmpty()) {
+            return Optional.empty();
+        }
+
+        TeamSummaryDto team = teams.get(random.nextInt(teams.size()));
+        String year = team.firstYearOfPlay();
+
+        return Distractors.options(random, year, Distractors.nearbyYears(Integer.parseInt(year), Year.now().getValue()))
+                .map(options -> new GeneratedQuestion(
+                        type() + "|" + team.name() + "|" + year,
+                        "In what year was the " + team.name() + " club founded?",
+                        options,
+                        year));
+    }
+}
\ No newline at end of file
@@ -1,20 +1,42 @@
 package org.example.worldsyncai.service.game.impl;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.example.worldsyncai.dto.game.TriviaQuestionDto;
 import org.example.worldsyncai.service.chat.AiService;
+import org.example.worldsyncai.service.game.GeneratedQuestion;
+import org.example.worldsyncai.service.game.TriviaQuestionGenerator;
 import org.example.worldsyncai.service.game.TriviaQuestionService;
+import org.example.worldsyncai.service.game.TriviaSession;
+import org.example.worldsyncai.service.game.TriviaSessionStore;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Selects a random question type (team foundation year).
- * Generates a question, answer choices, and the correct answer.
+ * Selects a random question type from the registered {@link TriviaQuestionGenerator}s.
+ * Generates a question, answer choices, and the correct answer ahead of time into a bounded pool.
+ * Avoids serving a user a question they have recently seen.
  * Checks if the user's answer is correct.
  */
 @Service
@@ -22,38 +44,214 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class TriviaQuestionServiceImpl implements TriviaQuestionService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final Map<String, String> questionAnswers = new HashMap<>();
-    private final Map<String, String> questionTexts = new HashMap<>();
+    private static final int MAX_GENERATION_ATTEMPTS = 10;
+
+    private final List<TriviaQuestionGenerator> generators;
+    private final TriviaSessionStore triviaSessionStore;
     private final AiService aiService;
+    private final ExecutorService upstreamExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${trivia.session.ttl-minutes}")
+    private long sessionTtlMinutes;
+
+    @Value("${trivia.pool.size}")
+    private int poolSize;
+
+    @Value("${trivia.pool.low-water-mark}")
+    private int poolLowWaterMark;
+
+    @Value("${trivia.seed:}")
+    private String seed;
+
+    @Value("${trivia.dedup.history-size}")
+    private int dedupHistorySize;
+
+    @Value("${trivia.dedup.max-users}")
+    private long dedupMaxUsers;
+
+    @Value("${trivia.dedup.ttl-hours}")
+    private long dedupTtlHours;
+
+    @Value("${trivia.explanation-cache.max-size}")
+    private long explanationCacheMaxSize;
+
+    @Value("${trivia.explanation-cache.ttl-hours}")
+    private long explanationCacheTtlHours;
+
+    @Value("${trivia.explanation-cache.prewarm}")
+    private boolean prewarmExplanations;
+
+    /**
+     * AI explanations keyed by question template, subject and correct answer.
+     * Holds the in-flight generation, so a pre-warm and an answer check for the same key share one AI call.
+     */
+    private AsyncCache<String, String> explanationCache;
+
+    private BlockingQueue<PreparedQuestion> questionPool;
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    /**
+     * Root of all question randomness. Each generation takes a {@link SplittableRandom#split()} of it under the lock,
+     * so with a fixed {@code trivia.seed} the refill thread produces the same sequence of questions.
+     */
+    private SplittableRandom random;
+    private List<TriviaQuestionGenerator> orderedGenerators;
+    private final ReentrantLock randomLock = new ReentrantLock();
+
+    /**
+     * Question keys each user has been served recently, newest last.
+     */
+    private Cache<String, Deque<String>> recentQuestions;
+
+    @PostConstruct
+    public void initCache() {
+        explanationCache = Caffeine.newBuilder()
+                .maximumSize(explanationCacheMaxSize)
+                .expireAfterWrite(Duration.ofHours(explanationCacheTtlHours))
+                .executor(upstreamExecutor)
+                .recordStats()
+                .buildAsync();
 
-    @Value("${mlb.teams.url}")
-    private String mlbTeamsUrl;
+        CaffeineCacheMetrics.monitor(meterRegistry, explanationCache.synchronous(), "triviaExplanations");
 
+        questionPool = new ArrayBlockingQueue<>(poolSize);
+        Gauge.builder("trivia.pool.size", questionPool, Queue::size).register(meterRegistry);
+
+        random = seed.isBlank() ? new SplittableRandom() : new SplittableRandom(Long.parseLong(seed));
+        orderedGenerators = generators.stream()
+                .sorted(Comparator.comparing(TriviaQuestionGenerator::type))
+                .toList();
+
+        recentQuestions = Caffeine.newBuilder()
+                .maximumSize(dedupMaxUsers)
+                .expireAfterAccess(Duration.ofHours(dedupTtlHours))
+                .build();
+    }
+
+    /**
+     * Serves a pre-generated question from the pool and registers its session.
+     * Only when the pool has nothing new for the user is a question generated on the request thread.
+     */
     @Override
-    public TriviaQuestionDto getRandomQuestion() {
-        List<String> questionTypes = Arrays.asList("teamYear");
-        String questionType = questionTypes.get(new Random().nextInt(questionTypes.size()));
-
-        TriviaQuestionDto question;
-        switch (questionType) {
-            case "teamYear":
-                question = generateTeamYearQuestion();
-                break;
-            default:
-                question = generateTeamYearQuestion();
-        }
+    public TriviaQuestionDto getRandomQuestion(String username) {
+        Deque<String> seen = username != null
+                ? recentQuestions.get(username, key -> new ConcurrentLinkedDeque<>())
+                : new ArrayDeque<>();
+
+        PreparedQuestion prepared = takeUnseenQuestion(seen);
+        refillPoolAsync();
 
+        TriviaQuestionDto question = prepared.question();
         if (question.getOptions().isEmpty()) {
             log.warn("⚠️ Generated an empty question! Something went wrong.");
+            return question;
+        }
+
+        triviaSessionStore.save(new TriviaSession(question.getId(), question.getQuestion(), question.getCorrectAnswer(),
+                prepared.explanationKey(), Instant.now().plus(Duration.ofMinutes(sessionTtlMinutes))));
+
+        seen.addLast(prepared.explanationKey());
+        while (seen.size() > dedupHistorySize) {
+            seen.pollFirst();
+        }
+
+        if (prewarmExplanations) {
+            loadExplanation(prepared.explanationKey(), question.getQuestion(), question.getCorrectAnswer());
         }
 
         return question;
     }
 
+    /**
+     * Questions the user has already seen go back to the tail of the pool for someone else.
+     */
+    private PreparedQuestion takeUnseenQuestion(Deque<String> seen) {
+        for (int attempt = 0; attempt < poolSize; attempt++) {
+            PreparedQuestion prepared = questionPool.poll();
+            if (prepared == null) {
+                break;
+            }
+            if (!seen.contains(prepared.explanationKey())) {
+                return prepared;
+            }
+            questionPool.offer(prepared);
+        }
+
+        log.warn("⚠️ Trivia question pool has no new question, generating one on the request thread.");
+        PreparedQuestion prepared = generateQuestion();
+        for (int attempt = 1; attempt < MAX_GENERATION_ATTEMPTS && seen.contains(prepared.explanationKey()); attempt++) {
+            prepared = generateQuestion();
+        }
+        return prepared;
+    }
+
+    /**
+     * Tops the pool up to its capacity. Stops early when questions cannot be built (e.g. teams not loaded yet).
+     */
+    @Scheduled(fixedDelayString = "${trivia.pool.refill-interval-ms}")
+    public void refillPool() {
+        if (!refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            while (questionPool.remainingCapacity() > 0) {
+                PreparedQuestion prepared = generateQuestion();
+                if (prepared.question().getOptions().isEmpty()) {
+                    break;
+                }
+                questionPool.offer(prepared);
+            }
+        } catch (Exception e) {
+            log.error("❌ Error refilling trivia question pool", e);
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    private void refillPoolAsync() {
+        if (questionPool.size() < poolLowWaterMark && !refilling.get()) {
+            upstreamExecutor.execute(this::refillPool);
+        }
+    }
+
+    /**
+     * Asks the generators in random order; the first one with enough data wins.
+     */
+    private PreparedQuestion generateQuestion() {
+        SplittableRandom questionRandom = nextRandom();
+
+        List<TriviaQuestionGenerator> candidates = new ArrayList<>(orderedGenerators);
+        Collections.shuffle(candidates, questionRandom);
+
+        for (TriviaQuestionGenerator generator : candidates) {
+            Optional<GeneratedQuestion> generated = generator.generate(questionRandom);
+            if (generated.isPresent()) {
+                GeneratedQuestion question = generated.get();
+                return new PreparedQuestion(
+                        new TriviaQuestionDto(UUID.randomUUID().toString(), question.questionText(),
+                                question.options(), question.correctAnswer()),
+                        question.questionKey());
+            }
+        }
+
+        return new PreparedQuestion(
+                new TriviaQuestionDto(UUID.randomUUID().toString(), "Error loading data.", Collections.emptyList(), ""),
+                null);
+    }
+
+    private SplittableRandom nextRandom() {
+        randomLock.lock();
+        try {
+            return random.split();
+        } finally {
+            randomLock.unlock();
+        }
+    }
+
     /**
      * Validates the user's answer against the correct answer for a trivia question
      * and optionally provides an explanation if the answer is incorrect.
+     * Each question can be answered once; its session is removed after the check.
      *
      * @param questionId the unique identifier of the question being answered
      * @param userAnswer the answer provided by the user
@@ -62,57 +260,71 @@ public class TriviaQuestionServiceImpl implements TriviaQuestionService {
      */
     @Override
     public String checkAnswer(String questionId, String userAnswer) {
-        String correctAnswer = questionAnswers.getOrDefault(questionId, "");
-        String questionText = questionTexts.getOrDefault(questionId, "Unknown question");
+        Optional<TriviaSession> session = triviaSessionStore.take(questionId);
+        if (session.isEmpty()) {
+            return "❓ Question not found or expired. Please request a new one.";
+        }
+
+        String correctAnswer = session.get().correctAnswer();
+        String questionText = session.get().questionText();
 
         if (correctAnswer.equalsIgnoreCase(userAnswer)) {
             return "✅ That's right! Great job!";
         } else {
-            String explanation = aiService.getAIResponse(
-                    "Question: \"" + questionText + "\"\n" +
-                            "User replied: \"" + userAnswer + "\", but the correct answer is: \"" + correctAnswer + "\".\n" +
-                            "Please explain why the correct answer is \"" + correctAnswer + "\"."
-            );
+            String explanationKey = session.get().explanationKey();
+            String explanation = explanationKey != null
+                    ? getExplanation(explanationKey, questionText, correctAnswer)
+                    : aiService.getAIResponse(explanationPrompt(questionText, correctAnswer));
 
             return "❌ Incorrect. The correct answer is: " + correctAnswer + ".\n\n" + explanation;
         }
     }
 
-    @Override
-    public String getQuestionText(String questionId) {
-        return questionTexts.getOrDefault(questionId, "❓ Question not found.");
-    }
-
     /**
-     * Generating a question about the year the team was founded.
+     * Returns the cached explanation or generates it. Failed generations, including failed pre-warms,
+     * are not kept; the user then gets the AI error text.
      */
-    private TriviaQuestionDto generateTeamYearQuestion() {
-        Map response = restTemplate.getForObject(mlbTeamsUrl, Map.class);
-
-        if (response == null || !response.containsKey("teams")) {
-            return new TriviaQuestionDto(UUID.randomUUID().toString(), "Error loading data.", Collections.emptyList(), "");
+    private String getExplanation(String explanationKey, String questionText, String correctAnswer) {
+        try {
+            return loadExplanation(explanationKey, questionText, correctAnswer).join();
+        } catch (CompletionException e) {
+            log.warn("⚠️ Explanation for {} could not be generated: {}", explanationKey, e.getCause().getMessage());
+            return AiService.ERROR_RESPONSE;
         }
+    }
 
-        List<Map> teams = (List<Map>) response.get("teams");
-        Map<String, Object> randomTeam = teams.get(new Random().nextInt(teams.size()));
-
-        String teamName = (String) randomTeam.get("name");
-        String year = (String) randomTeam.get("firstYearOfPlay");
-
-        List<String> options = Arrays.asList(
-                year,
-                String.valueOf(Integer.parseInt(year) + 5),
-                String.valueOf(Integer.parseInt(year) - 3),
-                String.valueOf(Integer.parseInt(year) + 10)
-        );
-        Collections.shuffle(options);
+    /**
+     * Completes exceptionally when the AI request fails, so the cache drops the entry instead of keeping the error.
+     */
+    private CompletableFuture<String> loadExplanation(String explanationKey, String questionText, String correctAnswer) {
+        return explanationCache.get(explanationKey, key -> {
+            String explanation = aiService.getAIResponse(explanationPrompt(questionText, correctAnswer));
+            if (AiService.ERROR_RESPONSE.equals(explanation)) {
+                throw new IllegalStateException("AI request failed");
+            }
+            return explanation;
+        });
+    }
 
-        String questionId = UUID.randomUUID().toString();
-        String questionText = "In what year was the " + teamName + " club founded?";
+    /**
+     * The wrong answer is left out on purpose: the explanation then only depends on the question and can be shared.
+     */
+    private String explanationPrompt(String questionText, String correctAnswer) {
+        return "Question: \"" + questionText + "\"\n" +
+                "The correct answer is: \"" + correctAnswer + "\".\n" +
+                "Please explain why the correct answer is \"" + correctAnswer + "\".";
+    }
 
-        questionAnswers.put(questionId, year);
-        questionTexts.put(questionId, questionText);
+    @Override
+    public String getQuestionText(String questionId) {
+        return triviaSessionStore.find(questionId)
+                .map(TriviaSession::questionText)
+                .orElse("❓ Question not found.");
+    }
 
-        return new TriviaQuestionDto(questionId, questionText, options, year);
+    /**
+     * A generated question waiting in the pool; its session is only created once it is served.
+     */
+    private record PreparedQuestion(TriviaQuestionDto question, String explanationKey) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package org.example.worldsyncai.service.game.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
+import org.example.worldsyncai.service.game.GeneratedQuestion;
+import org.example.worldsyncai.service.game.TriviaQuestionGenerator;
+import org.example.worldsyncai.service.team.TeamCatalog;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * "Which team plays its home games at Fenway Park?"
+ */
+@Component
+@RequiredArgsConstructor
+public class VenueQuestionGenerator implements TriviaQuestionGenerator {
+
+    private final TeamCatalog teamCatalog;
+
+    @Override
+    public String type() {
+        return "venue";
+    }
+
+    @Override
+    public Optional<GeneratedQuestion> generate(SplittableRandom random) {
+        List<TeamSummaryDto> teams = teamCatalog.getTeams().stream()
+                .filter(team -> team.name() != null && team.venueName() != null)
+                .toList();
+        if (teams.isEmpty()) {
+            return Optional.empty();
+        }
+
+        TeamSummaryDto team = teams.get(random.nextInt(teams.size()));
+
+        // Teams sharing the venue would be correct too, so they are not offered as wrong answers.
+        List<String> otherTeams = teams.stream()
+                .filter(other -> !other.venueName().equalsIgnoreCase(team.venueName()))
+                .map(TeamSummaryDto::name)
+                .toList();
+
+        return Distractors.options(random, team.name(), otherTeams)
+                .map(options -> new GeneratedQuestion(
+                        type() + "|" + team.venueName() + "|" + team.name(),
+                        "Which team plays its home games at " + team.venueName() + "?",
+                        options,
+                        team.name()));
+    }
+}
\ No newline at end of file
@@ -1,20 +1,46 @@
 package org.example.worldsyncai.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.api.client.auth.oauth2.BearerToken;
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.auth.oauth2.ClientParametersAuthentication;
+import com.google.api.client.auth.oauth2.CredentialRefreshListener;
+import com.google.api.client.auth.oauth2.RefreshTokenRequest;
+import com.google.api.client.auth.oauth2.TokenErrorResponse;
 import com.google.api.client.auth.oauth2.TokenResponse;
+import com.google.api.client.auth.oauth2.TokenResponseException;
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeTokenRequest;
 import com.google.api.client.googleapis.auth.oauth2.GoogleCredential;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.http.BasicAuthentication;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.JsonFactory;
 import com.google.api.services.calendar.Calendar;
 import com.google.api.services.calendar.model.Event;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.worldsyncai.model.User;
+import org.example.worldsyncai.repository.CalendarGameEventRepository;
+import org.example.worldsyncai.repository.CalendarSyncStateRepository;
 import org.example.worldsyncai.service.GoogleCalendarService;
+import org.example.worldsyncai.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 @Service
 @RequiredArgsConstructor
@@ -22,28 +48,179 @@ import java.util.Collections;
 public class GoogleCalendarServiceImpl implements GoogleCalendarService {
 
     private static final String APPLICATION_NAME = "World Sync AI";
+    private static final String TOKEN_SERVER_URL = "https://oauth2.googleapis.com/token";
+    private static final String INVALID_GRANT = "invalid_grant";
 
     private final SecretManagerService secretManagerService;
+    private final UserService userService;
+    private final CalendarSyncStateRepository syncStateRepository;
+    private final CalendarGameEventRepository gameEventRepository;
+    private final HttpTransport googleHttpTransport;
+    private final JsonFactory googleJsonFactory;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService upstreamExecutor;
+
+    @Value("${google.calendar.token-refresh.ahead-minutes}")
+    private long tokenRefreshAheadMinutes;
+
+    @Value("${google.calendar.token-refresh.batch-size}")
+    private int tokenRefreshBatchSize;
+
+    @Value("${google.calendar.token-refresh.retry-delay-minutes}")
+    private long tokenRefreshRetryDelayMinutes;
+
+    @Value("${google.calendar.client-cache.max-size}")
+    private long clientCacheMaxSize;
+
+    @Value("${google.calendar.client-cache.idle-minutes}")
+    private long clientCacheIdleMinutes;
+
+    /**
+     * Calendar clients per user ID. Each holds a {@link Credential} that refreshes its access token
+     * shortly before expiry (or on a 401) and writes new tokens back to the user.
+     */
+    private Cache<Long, Calendar> userCalendars;
+
+    @PostConstruct
+    public void initCache() {
+        userCalendars = Caffeine.newBuilder()
+                .maximumSize(clientCacheMaxSize)
+                .expireAfterAccess(Duration.ofMinutes(clientCacheIdleMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, userCalendars, "googleCalendarClients");
+    }
 
     private GoogleCredential getCredentialsFromSecretManager() throws IOException {
         String credentialsJson = secretManagerService.getSecret("google-credentials");
 
-        return GoogleCredential.fromStream(new ByteArrayInputStream(credentialsJson.getBytes()))
+        return GoogleCredential.fromStream(new ByteArrayInputStream(credentialsJson.getBytes()), googleHttpTransport, googleJsonFactory)
                 .createScoped(Collections.singletonList("https://www.googleapis.com/auth/calendar.events"));
     }
 
     @Override
     public Calendar getCalendarService(String accessToken) throws IOException {
-        var httpTransport = new NetHttpTransport();
-        var jsonFactory = JacksonFactory.getDefaultInstance();
+        Credential credential = new Credential(BearerToken.authorizationHeaderAccessMethod())
+                .setAccessToken(accessToken);
+
+        return new Calendar.Builder(googleHttpTransport, googleJsonFactory, credential)
+                .setApplicationName(APPLICATION_NAME)
+                .build();
+    }
 
-        GoogleCredential credential = new GoogleCredential.Builder()
-                .setTransport(httpTransport)
-                .setJsonFactory(jsonFactory)
+    /**
+     * Built outside the cache's compute, since it reads the user from the database.
+     */
+    @Override
+    public Calendar getCalendarServiceForUser(Long userId) {
+        Calendar calendar = userCalendars.getIfPresent(userId);
+        if (calendar != null) {
+            return calendar;
+        }
+
+        Calendar built = buildUserCalendar(userId);
+        Calendar existing = userCalendars.asMap().putIfAbsent(userId, built);
+        return existing != null ? existing : built;
+    }
+
+    @Override
+    public void evictUserCalendar(Long userId) {
+        userCalendars.invalidate(userId);
+    }
+
+    /**
+     * The sync token and the game event index belong to the calendar of the previous authorization;
+     * without them the next sync lists the new calendar in full and rebuilds the index.
+     */
+    @Override
+    @Transactional
+    public void storeUserTokens(Long userId, TokenResponse tokens) {
+        saveTokens(userId, tokens);
+        syncStateRepository.clearSyncToken(userId);
+        gameEventRepository.deleteByUserId(userId);
+        evictUserCalendar(userId);
+    }
+
+    private void saveTokens(Long userId, TokenResponse tokens) {
+        Instant expiresAt = tokens.getExpiresInSeconds() != null
+                ? Instant.now().plusSeconds(tokens.getExpiresInSeconds())
+                : null;
+        userService.updateUserCalendarTokens(userId, tokens.getAccessToken(), tokens.getRefreshToken(), expiresAt);
+    }
+
+    /**
+     * Renews access tokens that expire within {@code google.calendar.token-refresh.ahead-minutes},
+     * up to one batch per run, so requests never start with an expired token.
+     * The batch is refreshed concurrently on the upstream executor. A user whose refresh fails is retried after
+     * {@code google.calendar.token-refresh.retry-delay-minutes}, so failing users do not fill every batch.
+     */
+    @Scheduled(fixedDelayString = "${google.calendar.token-refresh.interval-ms}")
+    public void refreshExpiringTokens() {
+        Instant threshold = Instant.now().plus(Duration.ofMinutes(tokenRefreshAheadMinutes));
+        List<User> users = userService.findUsersWithCalendarTokenExpiringBefore(threshold, tokenRefreshBatchSize);
+        if (users.isEmpty()) {
+            return;
+        }
+
+        String clientId = secretManagerService.getGoogleOAuthClientId();
+        String clientSecret = secretManagerService.getGoogleOAuthClientSecret();
+        List<CompletableFuture<Boolean>> refreshes = users.stream()
+                .map(user -> CompletableFuture.supplyAsync(() -> refreshUserToken(user, clientId, clientSecret), upstreamExecutor))
+                .toList();
+
+        long refreshed = refreshes.stream().map(CompletableFuture::join).filter(Boolean::booleanValue).count();
+        log.info("🔄 Refreshed {} of {} expiring Google Calendar tokens", refreshed, users.size());
+    }
+
+    private boolean refreshUserToken(User user, String clientId, String clientSecret) {
+        try {
+            saveTokens(user.getId(), refreshAccessToken(user.getGoogleCalendarRefreshToken(), clientId, clientSecret));
+            // The cached client still holds the old token; the next one is built with the new token.
+            evictUserCalendar(user.getId());
+            return true;
+        } catch (TokenResponseException e) {
+            if (e.getDetails() != null && INVALID_GRANT.equals(e.getDetails().getError())) {
+                log.warn("⚠️ Google rejected the refresh token of user {}; the user has to reconnect", user.getId());
+                userService.clearUserCalendarRefreshToken(user.getId());
+                evictUserCalendar(user.getId());
+            } else {
+                log.warn("⚠️ Google Calendar token refresh failed for user {}: {}", user.getId(), e.getMessage());
+                postponeRefresh(user.getId());
+            }
+            return false;
+        } catch (Exception e) {
+            log.warn("⚠️ Google Calendar token refresh failed for user {}: {}", user.getId(), e.getMessage());
+            postponeRefresh(user.getId());
+            return false;
+        }
+    }
+
+    private void postponeRefresh(Long userId) {
+        userService.postponeUserCalendarTokenRefresh(userId,
+                Instant.now().plus(Duration.ofMinutes(tokenRefreshRetryDelayMinutes)));
+    }
+
+    private Calendar buildUserCalendar(Long userId) {
+        User user = userService.findUserEntityById(userId)
+                .orElseThrow(() -> new IllegalStateException("User not found: " + userId));
+
+        Credential credential = new Credential.Builder(BearerToken.authorizationHeaderAccessMethod())
+                .setTransport(googleHttpTransport)
+                .setJsonFactory(googleJsonFactory)
+                .setTokenServerUrl(new GenericUrl(TOKEN_SERVER_URL))
+                .setClientAuthentication(new BasicAuthentication(
+                        secretManagerService.getGoogleOAuthClientId(),
+                        secretManagerService.getGoogleOAuthClientSecret()))
+                .addRefreshListener(new PersistingRefreshListener(userId))
                 .build()
-                .setAccessToken(accessToken);
+                .setAccessToken(user.getGoogleCalendarAccessToken())
+                .setRefreshToken(user.getGoogleCalendarRefreshToken())
+                .setExpirationTimeMilliseconds(user.getGoogleCalendarTokenExpiresAt() != null
+                        ? user.getGoogleCalendarTokenExpiresAt().toEpochMilli()
+                        : null);
 
-        return new Calendar.Builder(httpTransport, jsonFactory, credential)
+        return new Calendar.Builder(googleHttpTransport, googleJsonFactory, credential)
                 .setApplicationName(APPLICATION_NAME)
                 .build();
     }
@@ -63,9 +240,9 @@ public class GoogleCalendarServiceImpl implements GoogleCalendarService {
     @Override
     public TokenResponse exchangeCodeForTokens(String code, String clientId, String clientSecret, String redirectUri) throws IOException {
         return new GoogleAuthorizationCodeTokenRequest(
-                new NetHttpTransport(),
-                JacksonFactory.getDefaultInstance(),
-                "https://oauth2.googleapis.com/token",
+                googleHttpTransport,
+                googleJsonFactory,
+                TOKEN_SERVER_URL,
                 clientId,
                 clientSecret,
                 code,
@@ -75,25 +252,17 @@ public class GoogleCalendarServiceImpl implements GoogleCalendarService {
 
     @Override
     public TokenResponse refreshAccessToken(String refreshToken, String clientId, String clientSecret) throws IOException {
-        var httpTransport = new NetHttpTransport();
-        var jsonFactory = JacksonFactory.getDefaultInstance();
-
-        GoogleCredential credential = new GoogleCredential.Builder()
-                .setTransport(httpTransport)
-                .setJsonFactory(jsonFactory)
-                .setClientSecrets(clientId, clientSecret)
-                .build();
-
-        credential.setRefreshToken(refreshToken);
+        TokenResponse response = new RefreshTokenRequest(
+                googleHttpTransport,
+                googleJsonFactory,
+                new GenericUrl(TOKEN_SERVER_URL),
+                refreshToken
+        ).setClientAuthentication(new ClientParametersAuthentication(clientId, clientSecret))
+                .execute();
 
-        boolean success = credential.refreshToken();
-        if (!success) {
-            throw new IOException("Failed to refresh token with Google (perhaps refreshToken invalid)");
+        if (response.getRefreshToken() == null) {
+            response.setRefreshToken(refreshToken);
         }
-
-        TokenResponse response = new TokenResponse();
-        response.setAccessToken(credential.getAccessToken());
-        response.setRefreshToken(refreshToken);
         return response;
     }
 
@@ -104,6 +273,12 @@ public class GoogleCalendarServiceImpl implements GoogleCalendarService {
         log.info("Event created: {}", event.getSummary());
     }
 
+    @Override
+    public void createEventForUser(Long userId, Event event) throws IOException {
+        getCalendarServiceForUser(userId).events().insert("primary", event).execute();
+        log.info("Event created: {}", event.getSummary());
+    }
+
     /**
      * Creates a calendar event using service account credentials.
      * Useful for server-to-server communication without user authorization.
@@ -113,4 +288,30 @@ public class GoogleCalendarServiceImpl implements GoogleCalendarService {
         Calendar service = getCalendarServiceFromCredentials();
         service.events().insert("primary", event).execute();
     }
+
+    /**
+     * Stores tokens obtained by an automatic refresh, so other replicas and restarts pick them up.
+     * A rejected refresh token means the user has to reconnect Google; the cached client is dropped.
+     */
+    @RequiredArgsConstructor
+    private class PersistingRefreshListener implements CredentialRefreshListener {
+
+        private final Long userId;
+
+        @Override
+        public void onTokenResponse(Credential credential, TokenResponse tokenResponse) {
+            saveTokens(userId, tokenResponse);
+            log.debug("🔄 Google Calendar token refreshed for user {}", userId);
+        }
+
+        @Override
+        public void onTokenErrorResponse(Credential credential, TokenErrorResponse tokenErrorResponse) {
+            log.warn("⚠️ Google Calendar token refresh failed for user {}: {}", userId,
+                    tokenErrorResponse != null ? tokenErrorResponse.getError() : "unknown error");
+            if (tokenErrorResponse != null && INVALID_GRANT.equals(tokenErrorResponse.getError())) {
+                userService.clearUserCalendarRefreshToken(userId);
+            }
+            evictUserCalendar(userId);
+        }
+    }
 }
\ No newline at end of file
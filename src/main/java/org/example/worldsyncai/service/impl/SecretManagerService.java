@@ -4,104 +4,190 @@ import com.google.auth.oauth2.GoogleCredentials;
 import com.google.auth.oauth2.ServiceAccountCredentials;
 import com.google.cloud.secretmanager.v1.*;
 import com.google.cloud.spring.secretmanager.SecretManagerTemplate;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reads secrets from Google Secret Manager.
+ * Values are fetched once through a single long-lived client and kept in memory.
+ * A scheduled refresh checks the "latest" version of every cached secret and reloads the payload only when the version changed;
+ * if Secret Manager is unavailable, the cached value keeps being served.
+ */
 @Service
 @Slf4j
 public class SecretManagerService {
 
     private final SecretManagerTemplate secretManagerTemplate;
 
+    private final Map<String, CachedSecret> secrets = new ConcurrentHashMap<>();
+
+    private final ReentrantLock clientLock = new ReentrantLock();
+
+    private volatile SecretManagerServiceClient client;
+
+    private volatile String projectId;
+
     public SecretManagerService(SecretManagerTemplate secretManagerTemplate) {
         this.secretManagerTemplate = secretManagerTemplate;
     }
 
     public String getSecret(String secretId) {
-        try {
-            GoogleCredentials credentials = GoogleCredentials.getApplicationDefault();
+        CachedSecret cached = secrets.get(secretId);
+        if (cached != null) {
+            return cached.value();
+        }
 
-            if (credentials instanceof ServiceAccountCredentials) {
-                String serviceAccountEmail = ((ServiceAccountCredentials) credentials).getClientEmail();
-                log.info("🔍 Authenticated service account: {}", serviceAccountEmail);
-            } else {
-                log.warn("⚠️ Not a service account being used!");
-            }
+        CachedSecret loaded = accessSecret(secretId, "latest");
+        CachedSecret previous = secrets.putIfAbsent(secretId, loaded);
+        return previous != null ? previous.value() : loaded.value();
+    }
 
-            try (SecretManagerServiceClient client = SecretManagerServiceClient.create()) {
-                String secretName = String.format("projects/%s/secrets/%s/versions/latest", getGoogleCloudProjectId(), secretId);
-                AccessSecretVersionResponse response = client.accessSecretVersion(secretName);
-                return response.getPayload().getData().toStringUtf8();
+    /**
+     * Re-checks the cached secrets and swaps in new versions.
+     */
+    @Scheduled(fixedDelayString = "${secrets.refresh-interval-ms}", initialDelayString = "${secrets.refresh-interval-ms}")
+    public void refreshSecrets() {
+        secrets.forEach((secretId, cached) -> {
+            try {
+                SecretVersion latest = getClient().getSecretVersion(SecretVersionName.of(getGoogleCloudProjectId(), secretId, "latest"));
+                if (latest.getName().equals(cached.version())) {
+                    return;
+                }
+
+                CachedSecret updated = accessSecret(secretId, SecretVersionName.parse(latest.getName()).getSecretVersion());
+                secrets.put(secretId, updated);
+                log.info("🔄 Secret '{}' updated: {} -> {}", secretId, cached.version(), updated.version());
+            } catch (Exception e) {
+                log.warn("⚠️ Could not refresh secret '{}', keeping version {} loaded at {}: {}",
+                        secretId, cached.version(), cached.loadedAt(), e.getMessage());
             }
+        });
+    }
 
-        } catch (IOException e) {
-            log.error("❌ I/O error when accessing Secret Manager: ", e);
-            throw new RuntimeException("Error getting secret " + secretId, e);
-        } catch (Exception e) {
-            log.error("❌ General error when accessing Secret Manager: ", e);
-            throw new RuntimeException("Error getting secret " + secretId, e);
+    @PreDestroy
+    public void closeClient() {
+        if (client != null) {
+            client.close();
         }
     }
 
     public String getGeminiApiKey() {
-        String apiKey = secretManagerTemplate.getSecretString("gemini-api-key");
+        String apiKey = getSecret("gemini-api-key");
         log.info("🔍 Obtained API key from Secret Manager: {}", apiKey);
         return apiKey;
     }
 
     public String getCloudSqlClientKey() {
-        String cloudSqlKey = secretManagerTemplate.getSecretString("cloud-sql-client-key");
+        String cloudSqlKey = getSecret("cloud-sql-client-key");
         log.info("🔍 Obtained Cloud SQL Client Key from Secret Manager");
         return cloudSqlKey;
     }
 
+    /**
+     * The project ID is needed to address every other secret, so it is bootstrapped once through the template.
+     */
     public String getGoogleCloudProjectId() {
-        String projectId = secretManagerTemplate.getSecretString("google-cloud-project-id");
-        log.info("🔍 Obtained Project ID from Secret Manager: {}", projectId);
-        return projectId.trim();
+        String id = projectId;
+        if (id == null) {
+            id = secretManagerTemplate.getSecretString("google-cloud-project-id").trim();
+            projectId = id;
+            log.info("🔍 Obtained Project ID from Secret Manager: {}", id);
+        }
+        return id;
     }
 
     public String getGoogleOAuthClientId() {
-        String clientId = secretManagerTemplate.getSecretString("google-oauth-client-id");
+        String clientId = getSecret("google-oauth-client-id");
         log.info("🔍 Obtained Google OAuth Client ID from Secret Manager: {}", clientId);
         return clientId.trim();
     }
 
     public String getGoogleOAuthClientSecret() {
-        String clientSecret = secretManagerTemplate.getSecretString("google-oauth-client-secret");
+        String clientSecret = getSecret("google-oauth-client-secret");
         log.info("🔍 Obtained Google OAuth Client Secret from Secret Manager: {}", clientSecret);
         return clientSecret.trim();
     }
 
     public String getDatabaseName() {
-        String dbName = secretManagerTemplate.getSecretString("DB_NAME");
+        String dbName = getSecret("DB_NAME");
         log.info("🔍 Obtained DB Name from Secret Manager: {}", dbName);
         return dbName != null ? dbName.trim() : null;
     }
 
     public String getDatabaseInstance() {
-        String dbInstance = secretManagerTemplate.getSecretString("DB_INSTANCE");
+        String dbInstance = getSecret("DB_INSTANCE");
         log.info("🔍 Obtained DB Instance from Secret Manager: {}", dbInstance);
         return dbInstance.trim();
     }
 
     public String getDatabaseUser() {
-        String dbUser = secretManagerTemplate.getSecretString("DB_USER");
+        String dbUser = getSecret("DB_USER");
         log.info("🔍 Obtained DB User from Secret Manager: {}", dbUser);
         return dbUser.trim();
     }
 
     public String getDatabasePassword() {
-        String dbPassword = secretManagerTemplate.getSecretString("DB_PASSWORD");
+        String dbPassword = getSecret("DB_PASSWORD");
         log.info("🔍 Obtained DB Password from Secret Manager: {}", dbPassword);
         return dbPassword.trim();
     }
 
     public String getGoogleOAuthRedirectUri() {
-        String redirectUri = secretManagerTemplate.getSecretString("google-oauth-redirect-uri");
+        String redirectUri = getSecret("google-oauth-redirect-uri");
         log.info("🔍 Obtained Google OAuth Redirect URI from Secret Manager: {}", redirectUri);
         return redirectUri.trim();
     }
+
+    private CachedSecret accessSecret(String secretId, String version) {
+        try {
+            SecretVersionName secretName = SecretVersionName.of(getGoogleCloudProjectId(), secretId, version);
+            AccessSecretVersionResponse response = getClient().accessSecretVersion(secretName);
+            return new CachedSecret(response.getPayload().getData().toStringUtf8(), response.getName(), Instant.now());
+        } catch (IOException e) {
+            log.error("❌ I/O error when accessing Secret Manager: ", e);
+            throw new RuntimeException("Error getting secret " + secretId, e);
+        } catch (Exception e) {
+            log.error("❌ General error when accessing Secret Manager: ", e);
+            throw new RuntimeException("Error getting secret " + secretId, e);
+        }
+    }
+
+    private SecretManagerServiceClient getClient() throws IOException {
+        SecretManagerServiceClient current = client;
+        if (current != null) {
+            return current;
+        }
+
+        clientLock.lock();
+        try {
+            if (client == null) {
+                GoogleCredentials credentials = GoogleCredentials.getApplicationDefault();
+                if (credentials instanceof ServiceAccountCredentials) {
+                    String serviceAccountEmail = ((ServiceAccountCredentials) credentials).getClientEmail();
+                    log.info("🔍 Authenticated service account: {}", serviceAccountEmail);
+                } else {
+                    log.warn("⚠️ Not a service account being used!");
+                }
+
+                client = SecretManagerServiceClient.create();
+            }
+            return client;
+        } finally {
+            clientLock.unlock();
+        }
+    }
+
+    /**
+     * @param version full resource name of the resolved version, e.g. {@code projects/p/secrets/s/versions/3}.
+     */
+    private record CachedSecret(String value, String version, Instant loadedAt) {
+    }
 }
\ No newline at end of file
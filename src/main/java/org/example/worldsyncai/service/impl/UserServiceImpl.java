@@ -2,14 +2,18 @@ package org.example.worldsyncai.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.worldsyncai.auth.CustomUserDetailsService;
 import org.example.worldsyncai.dto.UserDto;
 import org.example.worldsyncai.mapper.UserMapper;
 import org.example.worldsyncai.model.User;
 import org.example.worldsyncai.repository.UserRepository;
 import org.example.worldsyncai.service.UserService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -20,17 +24,23 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
 
     @Override
     public Optional<UserDto> getUserById(Long id) {
-        return userRepository.findById(id)
-                .map(userMapper::toDto);
+        return userRepository.findWithFavoriteTeamsById(id)
+                .map(userMapper::toDtoWithFavoriteTeams);
     }
 
     @Override
     public Optional<UserDto> getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .map(userMapper::toDto);
+        return userRepository.findWithFavoriteTeamsByUsername(username)
+                .map(userMapper::toDtoWithFavoriteTeams);
+    }
+
+    @Override
+    public Optional<Long> findIdByUsername(String username) {
+        return userRepository.findIdByUsername(username);
     }
 
     @Override
@@ -52,36 +62,40 @@ public class UserServiceImpl implements UserService {
 
         User savedUser = userRepository.save(user);
 
-        return Optional.of(userMapper.toDto(savedUser));
+        return Optional.of(userMapper.toDtoWithFavoriteTeams(savedUser));
     }
 
     @Override
     public Optional<UserDto> updateUser(Long id, UserDto userDto) {
         return userRepository.findById(id)
                 .map(existingUser -> {
+                    String previousUsername = existingUser.getUsername();
                     existingUser.setUsername(userDto.getUsername());
                     existingUser.setEmail(userDto.getEmail());
                     if (userDto.getPassword() != null && !userDto.getPassword().isBlank()) {
                         existingUser.setPassword(passwordEncoder.encode(userDto.getPassword()));
                     }
                     User updatedUser = userRepository.save(existingUser);
+                    userDetailsService.evictUser(previousUsername);
+                    userDetailsService.evictUser(updatedUser.getUsername());
                     return userMapper.toDto(updatedUser);
                 });
     }
 
     @Override
     public void deleteUser(Long id) {
-        if (userRepository.existsById(id)) {
-            userRepository.deleteById(id);
-        } else {
-            throw new RuntimeException("User not found with id: " + id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        userRepository.delete(user);
+        userDetailsService.evictUser(user.getUsername());
     }
 
     @Override
-    public void updateUserCalendarTokens(Long userId, String accessToken, String refreshToken) {
+    public void updateUserCalendarTokens(Long userId, String accessToken, String refreshToken, Instant expiresAt) {
         userRepository.findById(userId).ifPresent(user -> {
             user.setGoogleCalendarAccessToken(accessToken);
+            user.setGoogleCalendarTokenExpiresAt(expiresAt);
+            user.setGoogleCalendarTokenRefreshRetryAt(null);
             if (refreshToken != null && !refreshToken.isBlank()) {
                 user.setGoogleCalendarRefreshToken(refreshToken);
             }
@@ -89,6 +103,27 @@ public class UserServiceImpl implements UserService {
         });
     }
 
+    @Override
+    public void clearUserCalendarRefreshToken(Long userId) {
+        userRepository.findById(userId).ifPresent(user -> {
+            user.setGoogleCalendarRefreshToken(null);
+            userRepository.save(user);
+        });
+    }
+
+    @Override
+    public void postponeUserCalendarTokenRefresh(Long userId, Instant retryAt) {
+        userRepository.findById(userId).ifPresent(user -> {
+            user.setGoogleCalendarTokenRefreshRetryAt(retryAt);
+            userRepository.save(user);
+        });
+    }
+
+    @Override
+    public List<User> findUsersWithCalendarTokenExpiringBefore(Instant threshold, int limit) {
+        return userRepository.findCalendarTokensExpiringBefore(threshold, Instant.now(), PageRequest.of(0, limit));
+    }
+
     @Override
     public String getUserCalendarToken(Long userId) {
         return userRepository.findById(userId)
@@ -101,6 +136,11 @@ public class UserServiceImpl implements UserService {
         return userRepository.findById(id);
     }
 
+    @Override
+    public Optional<User> findUserEntityByUsername(String username) {
+        return userRepository.findByUsername(username);
+    }
+
     @Override
     public boolean existsByUsername(String username) {
         return userRepository.existsByUsername(username);
@@ -0,0 +1,27 @@
+package org.example.worldsyncai.service.player;
+
+/**
+ * Headshot sizes served by the proxy; the width is in pixels, height follows the aspect ratio.
+ */
+public enum HeadshotSize {
+
+    THUMB(120),
+    FULL(480);
+
+    private final int width;
+
+    HeadshotSize(int width) {
+        this.width = width;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    /**
+     * @return the size for a {@code ?size=} value, {@link #FULL} when missing or unknown.
+     */
+    public static HeadshotSize fromParam(String value) {
+        return "thumb".equalsIgnoreCase(value) ? THUMB : FULL;
+    }
+}
\ No newline at end of file
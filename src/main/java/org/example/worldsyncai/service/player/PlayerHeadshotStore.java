@@ -0,0 +1,256 @@
+package org.example.worldsyncai.service.player;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.worldsyncai.client.MlbStatsClient;
+import org.example.worldsyncai.util.HashUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+/**
+ * Player headshots fetched once from the MLB image CDN, re-encoded as JPEG in each {@link HeadshotSize}.
+ * Two tiers: a memory cache bounded by total bytes, and a directory bounded by file count.
+ * Smaller sizes are derived from the stored full-size image, so each player costs at most one upstream request.
+ * Players the CDN has no headshot for are remembered for a short time, so repeated misses stay local.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlayerHeadshotStore {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final MlbStatsClient mlbStatsClient;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService upstreamExecutor;
+
+    @Value("${mlb.player.photo}")
+    private String playerPhotoUrl;
+
+    @Value("${player.headshot.dir}")
+    private Path headshotDir;
+
+    @Value("${player.headshot.refresh-days}")
+    private long refreshDays;
+
+    @Value("${player.headshot.memory-max-bytes}")
+    private long memoryMaxBytes;
+
+    @Value("${player.headshot.disk-max-files}")
+    private int diskMaxFiles;
+
+    @Value("${player.headshot.negative-cache-minutes}")
+    private long negativeCacheMinutes;
+
+    @Value("${player.headshot.negative-cache-max-size}")
+    private long negativeCacheMaxSize;
+
+    private AsyncLoadingCache<HeadshotKey, Headshot> headshots;
+
+    /**
+     * Player IDs the CDN answered with 404.
+     */
+    private Cache<Integer, Boolean> missingHeadshots;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(headshotDir);
+
+        headshots = Caffeine.newBuilder()
+                .maximumWeight(memoryMaxBytes)
+                .weigher((HeadshotKey key, Headshot headshot) -> headshot.bytes().length)
+                .expireAfterWrite(Duration.ofDays(refreshDays))
+                .executor(upstreamExecutor)
+                .recordStats()
+                .buildAsync(this::loadHeadshot);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, headshots.synchronous(), "playerHeadshots");
+
+        missingHeadshots = Caffeine.newBuilder()
+                .maximumSize(negativeCacheMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(negativeCacheMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, missingHeadshots, "playerHeadshotMisses");
+    }
+
+    /**
+     * @return the JPEG headshot, or empty if the CDN has none for this player;
+     *         concurrent requests for the same player and size share one load.
+     */
+    public Optional<Headshot> getHeadshot(int playerId, HeadshotSize size) {
+        if (missingHeadshots.getIfPresent(playerId) != null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(load(new HeadshotKey(playerId, size)));
+        } catch (HttpClientErrorException.NotFound e) {
+            missingHeadshots.put(playerId, Boolean.TRUE);
+            return Optional.empty();
+        }
+    }
+
+    private Headshot load(HeadshotKey key) {
+        try {
+            return headshots.get(key).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Headshot loadHeadshot(HeadshotKey key) throws IOException {
+        Path file = headshotDir.resolve(key.playerId() + "-" + key.size().name().toLowerCase() + ".jpg");
+        if (isFresh(file)) {
+            return toHeadshot(Files.readAllBytes(file));
+        }
+
+        byte[] jpeg;
+        if (key.size() == HeadshotSize.FULL) {
+            byte[] original = mlbStatsClient.getBytes(playerPhotoUrl + "/" + key.playerId() + "/headshot/67/current");
+            if (original == null || original.length == 0) {
+                throw new IllegalStateException("Empty headshot response for player " + key.playerId());
+            }
+            jpeg = encode(original, HeadshotSize.FULL);
+            log.debug("🆕 Headshot for player {} downloaded", key.playerId());
+        } else {
+            jpeg = encode(load(new HeadshotKey(key.playerId(), HeadshotSize.FULL)).bytes(), key.size());
+        }
+
+        writeAtomically(file, jpeg);
+        return toHeadshot(jpeg);
+    }
+
+    private boolean isFresh(Path file) throws IOException {
+        return Files.exists(file)
+                && Files.getLastModifiedTime(file).toInstant().isAfter(Instant.now().minus(Duration.ofDays(refreshDays)));
+    }
+
+    private Headshot toHeadshot(byte[] jpeg) {
+        return new Headshot(jpeg, "\"" + HashUtils.sha256Hex(jpeg) + "\"");
+    }
+
+    /**
+     * Scales down to the target width (never up) and flattens transparency onto white, since JPEG has no alpha.
+     */
+    private byte[] encode(byte[] source, HeadshotSize size) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(source));
+        if (image == null) {
+            throw new IllegalStateException("Unsupported headshot image format");
+        }
+
+        int width = Math.min(size.width(), image.getWidth());
+        int height = Math.max(1, Math.round(image.getHeight() * (width / (float) image.getWidth())));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(target, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private void writeAtomically(Path target, byte[] bytes) {
+        try {
+            Path tmp = Files.createTempFile(headshotDir, "headshot-", ".tmp");
+            try {
+                Files.write(tmp, bytes);
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store headshot " + target, e);
+        }
+    }
+
+    /**
+     * Keeps the directory within {@code player.headshot.disk-max-files} by deleting the least recently written files.
+     */
+    @Scheduled(fixedDelayString = "${player.headshot.cleanup-interval-ms}")
+    public void trimDiskCache() {
+        try (Stream<Path> files = Files.list(headshotDir)) {
+            List<Path> headshotFiles = files
+                    .filter(file -> file.getFileName().toString().endsWith(".jpg"))
+                    .sorted(Comparator.comparing(this::lastModified).reversed())
+                    .toList();
+
+            if (headshotFiles.size() <= diskMaxFiles) {
+                return;
+            }
+            for (Path file : headshotFiles.subList(diskMaxFiles, headshotFiles.size())) {
+                Files.deleteIfExists(file);
+            }
+            log.info("🧹 Removed {} headshots from disk cache", headshotFiles.size() - diskMaxFiles);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not trim headshot disk cache: {}", e.getMessage());
+        }
+    }
+
+    private FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private record HeadshotKey(int playerId, HeadshotSize size) {
+    }
+
+    public record Headshot(byte[] bytes, String eTag) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package org.example.worldsyncai.service.player;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PlayerService {
+
+    /**
+     * Returns one player record as served by the MLB {@code /people} endpoint, from the cache when possible.
+     * @param playerId MLB person ID.
+     * @return the person node, or empty if the MLB API does not know the ID.
+     */
+    Optional<JsonNode> getPlayer(int playerId);
+
+    /**
+     * Returns several player records; all IDs missing from the cache are fetched in one upstream call.
+     * @param playerIds MLB person IDs.
+     * @return the known players, in request order. Unknown IDs are skipped.
+     */
+    List<JsonNode> getPlayers(Collection<Integer> playerIds);
+}
\ No newline at end of file
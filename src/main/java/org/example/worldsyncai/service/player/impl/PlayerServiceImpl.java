@@ -0,0 +1,194 @@
+package org.example.worldsyncai.service.player.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.worldsyncai.client.MlbStatsClient;
+import org.example.worldsyncai.service.player.PlayerService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Caches player records with a TTL and loads misses through {@code /people?personIds=}.
+ * Misses are not sent right away: they are queued for a short window, so concurrent single-player requests
+ * and bulk lookups are coalesced into as few upstream calls as possible (at most {@code player.batch.max-size} IDs each).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlayerServiceImpl implements PlayerService {
+
+    private final MlbStatsClient mlbStatsClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService upstreamExecutor;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${mlb.api.base.url}")
+    private String baseUrl;
+
+    @Value("${player.cache.max-size}")
+    private long maxSize;
+
+    @Value("${player.cache.ttl-minutes}")
+    private long ttlMinutes;
+
+    @Value("${player.batch.window-ms}")
+    private long batchWindowMs;
+
+    @Value("${player.batch.max-size}")
+    private int batchMaxSize;
+
+    private AsyncLoadingCache<Integer, JsonNode> players;
+
+    private final ConcurrentLinkedQueue<PendingLoad> pendingLoads = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    @PostConstruct
+    public void initCache() {
+        players = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .executor(upstreamExecutor)
+                .recordStats()
+                .buildAsync(new AsyncCacheLoader<>() {
+                    @Override
+                    public CompletableFuture<JsonNode> asyncLoad(Integer playerId, Executor executor) {
+                        return enqueue(playerId);
+                    }
+
+                    @Override
+                    public CompletableFuture<Map<Integer, JsonNode>> asyncLoadAll(Set<? extends Integer> playerIds, Executor executor) {
+                        Map<Integer, CompletableFuture<JsonNode>> futures = new HashMap<>();
+                        playerIds.forEach(playerId -> futures.put(playerId, enqueue(playerId)));
+
+                        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                                .thenApply(ignored -> {
+                                    Map<Integer, JsonNode> loaded = new HashMap<>();
+                                    futures.forEach((playerId, future) -> {
+                                        JsonNode player = future.join();
+                                        if (player != null) {
+                                            loaded.put(playerId, player);
+                                        }
+                                    });
+                                    return loaded;
+                                });
+                    }
+                });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, players.synchronous(), "players");
+    }
+
+    @Override
+    public Optional<JsonNode> getPlayer(int playerId) {
+        return Optional.ofNullable(join(players.get(playerId)));
+    }
+
+    @Override
+    public List<JsonNode> getPlayers(Collection<Integer> playerIds) {
+        Set<Integer> uniqueIds = new LinkedHashSet<>(playerIds);
+        Map<Integer, JsonNode> loaded = join(players.getAll(uniqueIds));
+        return uniqueIds.stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private CompletableFuture<JsonNode> enqueue(int playerId) {
+        CompletableFuture<JsonNode> future = new CompletableFuture<>();
+        pendingLoads.add(new PendingLoad(playerId, future));
+        if (flushScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now().plusMillis(batchWindowMs));
+        }
+        return future;
+    }
+
+    /**
+     * Drains everything queued during the window and sends it upstream in chunks.
+     */
+    private void flush() {
+        flushScheduled.set(false);
+
+        List<PendingLoad> batch = new ArrayList<>();
+        PendingLoad pending;
+        while ((pending = pendingLoads.poll()) != null) {
+            batch.add(pending);
+            if (batch.size() == batchMaxSize) {
+                List<PendingLoad> chunk = batch;
+                upstreamExecutor.execute(() -> loadBatch(chunk));
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            List<PendingLoad> chunk = batch;
+            upstreamExecutor.execute(() -> loadBatch(chunk));
+        }
+    }
+
+    private void loadBatch(List<PendingLoad> batch) {
+        String personIds = batch.stream()
+                .map(pending -> String.valueOf(pending.playerId()))
+                .distinct()
+                .collect(Collectors.joining(","));
+
+        try {
+            log.debug("🆕 Loading players {}", personIds);
+            JsonNode response = objectMapper.readTree(mlbStatsClient.get(baseUrl + "/people?personIds=" + personIds));
+
+            Map<Integer, JsonNode> byId = new HashMap<>();
+            for (JsonNode person : response.path("people")) {
+                byId.put(person.path("id").asInt(), person);
+            }
+            // IDs the MLB API does not return complete with null and are not cached.
+            batch.forEach(pending -> pending.future().complete(byId.get(pending.playerId())));
+        } catch (JsonProcessingException e) {
+            IllegalStateException failure = new IllegalStateException("Unexpected MLB API response", e);
+            batch.forEach(pending -> pending.future().completeExceptionally(failure));
+        } catch (RuntimeException e) {
+            log.error("❌ Error loading players {}: {}", personIds, e.getMessage());
+            batch.forEach(pending -> pending.future().completeExceptionally(e));
+        }
+    }
+
+    private record PendingLoad(int playerId, CompletableFuture<JsonNode> future) {
+    }
+}
\ No newline at end of file
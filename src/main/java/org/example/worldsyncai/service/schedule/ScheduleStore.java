@@ -0,0 +1,230 @@
+package org.example.worldsyncai.service.schedule;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.worldsyncai.client.MlbStatsClient;
+import org.example.worldsyncai.util.HashUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory copy of the MLB regular-season schedule, keyed by date.
+ * The whole season is loaded once (and re-synced daily); in between, only a window around today is re-fetched,
+ * since that is where postponements and score/status changes happen. Requests are always served from memory.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduleStore {
+
+    /**
+     * MLB publishes official dates in US Eastern time.
+     */
+    private static final ZoneId MLB_ZONE = ZoneId.of("America/New_York");
+
+    private final MlbStatsClient mlbStatsClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${mlb.schedule.url}")
+    private String scheduleUrl;
+
+    @Value("${schedule.refresh.days-back}")
+    private long refreshDaysBack;
+
+    @Value("${schedule.refresh.days-ahead}")
+    private long refreshDaysAhead;
+
+    @Value("${schedule.query-cache.max-size}")
+    private long queryCacheMaxSize;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Rendered filtered responses. The key carries the snapshot version, so a refresh makes old entries unreachable.
+     */
+    private Cache<ScheduleQuery, ScheduleResponse> queryCache;
+
+    @PostConstruct
+    public void initCache() {
+        queryCache = Caffeine.newBuilder()
+                .maximumSize(queryCacheMaxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, queryCache, "scheduleQueries");
+    }
+
+    /**
+     * Loads the full season. Runs at startup and then on {@code schedule.full-reload-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${schedule.full-reload-interval-ms}")
+    public void reloadSeason() {
+        refreshLock.lock();
+        try {
+            NavigableMap<LocalDate, JsonNode> dates = readDates(mlbStatsClient.get(scheduleUrl));
+            publish(dates);
+            log.info("🔄 MLB season schedule loaded: {} dates", dates.size());
+        } catch (Exception e) {
+            log.error("❌ Error loading MLB season schedule", e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Re-fetches the dates around today and publishes a new snapshot only if any of them changed.
+     * While no season is loaded (e.g. the MLB API was down at startup) this retries the full load instead.
+     */
+    @Scheduled(fixedDelayString = "${schedule.refresh.interval-ms}", initialDelayString = "${schedule.refresh.interval-ms}")
+    public void refreshWindow() {
+        if (snapshot == null) {
+            reloadSeason();
+            return;
+        }
+
+        LocalDate today = LocalDate.now(MLB_ZONE);
+        LocalDate start = today.minusDays(refreshDaysBack);
+        LocalDate end = today.plusDays(refreshDaysAhead);
+
+        refreshLock.lock();
+        try {
+            NavigableMap<LocalDate, JsonNode> fresh = readDates(
+                    mlbStatsClient.get(scheduleUrl + "&startDate=" + start + "&endDate=" + end));
+
+            NavigableMap<LocalDate, JsonNode> updated = new TreeMap<>(snapshot.dates());
+            NavigableMap<LocalDate, JsonNode> window = updated.subMap(start, true, end, true);
+            if (window.equals(fresh)) {
+                log.debug("✅ MLB schedule unchanged for {} – {}", start, end);
+                return;
+            }
+
+            window.clear();
+            updated.putAll(fresh);
+            publish(updated);
+            log.info("🔄 MLB schedule updated for {} – {}", start, end);
+        } catch (Exception e) {
+            log.error("❌ Error refreshing MLB schedule for {} – {}", start, end, e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * @param startDate first date to include, or {@code null} for the season start.
+     * @param endDate last date to include, or {@code null} for the season end.
+     * @param teamId only games with this home or away team, or {@code null} for all.
+     * @return the matching schedule dates, or empty if the season is not loaded yet.
+     */
+    public Optional<List<JsonNode>> getDates(LocalDate startDate, LocalDate endDate, Integer teamId) {
+        Snapshot current = snapshot;
+        return current != null ? Optional.of(selectDates(current, startDate, endDate, teamId)) : Optional.empty();
+    }
+
+    /**
+     * Same selection as {@link #getDates}, rendered as {@code {"totalGames": n, "dates": [...]}} with a strong ETag.
+     */
+    public Optional<ScheduleResponse> getSchedule(LocalDate startDate, LocalDate endDate, Integer teamId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        if (startDate == null && endDate == null && teamId == null) {
+            return Optional.of(current.fullResponse());
+        }
+        return Optional.of(queryCache.get(new ScheduleQuery(current.version(), startDate, endDate, teamId),
+                query -> render(selectDates(current, startDate, endDate, teamId))));
+    }
+
+    private void publish(NavigableMap<LocalDate, JsonNode> dates) {
+        Snapshot current = snapshot;
+        long version = current != null ? current.version() + 1 : 1;
+        snapshot = new Snapshot(Collections.unmodifiableNavigableMap(dates), render(new ArrayList<>(dates.values())), version);
+    }
+
+    private NavigableMap<LocalDate, JsonNode> readDates(String json) throws IOException {
+        NavigableMap<LocalDate, JsonNode> dates = new TreeMap<>();
+        for (JsonNode date : objectMapper.readTree(json).path("dates")) {
+            dates.put(LocalDate.parse(date.path("date").asText()), date);
+        }
+        return dates;
+    }
+
+    private List<JsonNode> selectDates(Snapshot current, LocalDate startDate, LocalDate endDate, Integer teamId) {
+        NavigableMap<LocalDate, JsonNode> range = current.dates();
+        if (startDate != null) {
+            range = range.tailMap(startDate, true);
+        }
+        if (endDate != null) {
+            range = range.headMap(endDate, true);
+        }
+
+        if (teamId == null) {
+            return List.copyOf(range.values());
+        }
+
+        List<JsonNode> dates = new ArrayList<>();
+        for (JsonNode date : range.values()) {
+            ArrayNode games = objectMapper.createArrayNode();
+            for (JsonNode game : date.path("games")) {
+                if (game.path("teams").path("home").path("team").path("id").asInt() == teamId
+                        || game.path("teams").path("away").path("team").path("id").asInt() == teamId) {
+                    games.add(game);
+                }
+            }
+            if (!games.isEmpty()) {
+                // Shallow copy: the game nodes are shared with the snapshot and never modified.
+                ObjectNode filtered = objectMapper.createObjectNode();
+                filtered.setAll((ObjectNode) date);
+                filtered.put("totalGames", games.size());
+                filtered.set("games", games);
+                dates.add(filtered);
+            }
+        }
+        return dates;
+    }
+
+    private ScheduleResponse render(List<JsonNode> dates) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("totalGames", dates.stream().mapToInt(date -> date.path("games").size()).sum());
+        root.putArray("dates").addAll(dates);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(root);
+            return new ScheduleResponse(json, "\"" + HashUtils.sha256Hex(json) + "\"");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize MLB schedule", e);
+        }
+    }
+
+    private record Snapshot(NavigableMap<LocalDate, JsonNode> dates, ScheduleResponse fullResponse, long version) {
+    }
+
+    private record ScheduleQuery(long version, LocalDate startDate, LocalDate endDate, Integer teamId) {
+    }
+
+    public record ScheduleResponse(byte[] json, String eTag) {
+    }
+}
\ No newline at end of file
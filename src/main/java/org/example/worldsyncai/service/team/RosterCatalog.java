@@ -0,0 +1,102 @@
+package org.example.worldsyncai.service.team;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.worldsyncai.dto.team.RosterPlayerDto;
+import org.example.worldsyncai.dto.team.TeamDetailsDto;
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Snapshot of the active rosters of all MLB teams, loaded in the background through {@link TeamDetailsService}
+ * (which also warms the team details cache). Readers never trigger upstream calls.
+ * Rosters are reloaded on a schedule and whenever the team catalog changes, so a catalog that was still empty
+ * at startup does not leave the rosters empty until the next scheduled run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RosterCatalog {
+
+    private final TeamCatalog teamCatalog;
+    private final TeamDetailsService teamDetailsService;
+
+    private volatile Map<Integer, List<RosterPlayerDto>> playersByTeam = Map.of();
+    private volatile List<RosterPlayerDto> players = List.of();
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    /**
+     * Reloads every roster. A team that fails keeps its previous roster.
+     */
+    @Scheduled(fixedDelayString = "${mlb.rosters.refresh-interval-ms}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            Map<Integer, List<RosterPlayerDto>> current = playersByTeam;
+            Map<Integer, List<RosterPlayerDto>> updated = new HashMap<>();
+
+            for (TeamSummaryDto team : teamCatalog.getTeams()) {
+                try {
+                    TeamDetailsDto details = teamDetailsService.getTeamDetails(team.id());
+                    updated.put(team.id(), toPlayers(team, details));
+                } catch (Exception e) {
+                    log.warn("⚠️ Could not load roster for team {}: {}", team.id(), e.getMessage());
+                    updated.put(team.id(), current.getOrDefault(team.id(), List.of()));
+                }
+            }
+
+            playersByTeam = Map.copyOf(updated);
+            players = updated.values().stream().flatMap(List::stream).toList();
+            log.info("🔄 MLB roster catalog loaded: {} players", players.size());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Runs asynchronously so the catalog refresh that published the event is not held up by the roster calls.
+     */
+    @Async
+    @EventListener
+    public void onTeamCatalogRefreshed(TeamCatalogRefreshedEvent event) {
+        refresh();
+    }
+
+    /**
+     * @return all rostered players, or an empty list before the first load.
+     */
+    public List<RosterPlayerDto> getPlayers() {
+        return players;
+    }
+
+    public List<RosterPlayerDto> getPlayers(int teamId) {
+        return playersByTeam.getOrDefault(teamId, List.of());
+    }
+
+    private List<RosterPlayerDto> toPlayers(TeamSummaryDto team, TeamDetailsDto details) {
+        List<RosterPlayerDto> roster = new ArrayList<>();
+        for (TeamDetailsDto.RosterEntry entry : details.roster()) {
+            if (entry.person() == null || entry.person().fullName() == null) {
+                continue;
+            }
+            roster.add(new RosterPlayerDto(
+                    entry.person().id(),
+                    entry.person().fullName(),
+                    entry.position() != null ? entry.position().name() : null,
+                    team.id(),
+                    team.name()
+            ));
+        }
+        return List.copyOf(roster);
+    }
+}
\ No newline at end of file
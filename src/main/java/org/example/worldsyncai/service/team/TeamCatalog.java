@@ -0,0 +1,184 @@
+package org.example.worldsyncai.service.team;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.worldsyncai.client.MlbStatsClient;
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
+import org.example.worldsyncai.util.HashUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds one immutable snapshot of the MLB teams list, shared by the chat, trivia and teams endpoints.
+ * The snapshot keeps the typed teams and the original JSON bytes, so the list can be served without touching upstream.
+ * It is refreshed on a schedule with a conditional GET; a {@link TeamCatalogRefreshedEvent} is published when it changes.
+ * Reads never call upstream: until the first load succeeds they see an empty catalog while a retry with backoff runs.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TeamCatalog {
+
+    private final MlbStatsClient mlbStatsClient;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${mlb.teams.url}")
+    private String teamsUrl;
+
+    @Value("${mlb.teams.retry.initial-delay-ms}")
+    private long retryInitialDelayMs;
+
+    @Value("${mlb.teams.retry.max-delay-ms}")
+    private long retryMaxDelayMs;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    public void init() {
+        refresh();
+        if (snapshot == null) {
+            scheduleRetry(retryInitialDelayMs);
+        }
+    }
+
+    /**
+     * Retries the initial load with exponential backoff until a snapshot exists.
+     */
+    private void scheduleRetry(long delayMs) {
+        log.warn("⚠️ MLB team catalog not loaded, retrying in {} ms", delayMs);
+        taskScheduler.schedule(() -> {
+            refresh();
+            if (snapshot == null) {
+                scheduleRetry(Math.min(delayMs * 2, retryMaxDelayMs));
+            }
+        }, Instant.now().plusMillis(delayMs));
+    }
+
+    @Scheduled(fixedDelayString = "${mlb.teams.refresh-interval-ms}", initialDelayString = "${mlb.teams.refresh-interval-ms}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            Snapshot current = snapshot;
+            ResponseEntity<byte[]> response = mlbStatsClient.getIfModified(
+                    teamsUrl,
+                    current != null ? current.upstreamETag() : null,
+                    current != null ? current.upstreamLastModified() : null
+            );
+
+            if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                log.debug("✅ MLB teams not modified since {}", current != null ? current.loadedAt() : null);
+                return;
+            }
+
+            byte[] body = response.getBody();
+            if (body == null || body.length == 0) {
+                log.warn("⚠️ Empty MLB teams response, keeping the previous snapshot.");
+                return;
+            }
+
+            String eTag = "\"" + HashUtils.sha256Hex(body) + "\"";
+            if (current != null && current.eTag().equals(eTag)) {
+                return;
+            }
+
+            List<TeamSummaryDto> teams = parseTeams(body);
+            snapshot = new Snapshot(
+                    teams,
+                    body,
+                    eTag,
+                    response.getHeaders().getETag(),
+                    response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED),
+                    Instant.now()
+            );
+            log.info("🔄 MLB team catalog loaded: {} teams", teams.size());
+
+            eventPublisher.publishEvent(new TeamCatalogRefreshedEvent(teams));
+        } catch (Exception e) {
+            log.error("❌ Error refreshing MLB team catalog", e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * @return all teams, or an empty list if the catalog could not be loaded yet.
+     */
+    public List<TeamSummaryDto> getTeams() {
+        Snapshot current = snapshot;
+        return current != null ? current.teams() : List.of();
+    }
+
+    public Optional<TeamSummaryDto> findById(int teamId) {
+        return getTeams().stream()
+                .filter(team -> team.id() == teamId)
+                .findFirst();
+    }
+
+    /**
+     * @return the teams response exactly as received from the MLB API together with its ETag,
+     *         both taken from the same snapshot; empty if not loaded yet.
+     */
+    public Optional<TeamsJson> getTeamsJson() {
+        Snapshot current = snapshot;
+        return current != null ? Optional.of(new TeamsJson(current.json(), current.eTag())) : Optional.empty();
+    }
+
+    private List<TeamSummaryDto> parseTeams(byte[] body) throws IOException {
+        List<TeamSummaryDto> teams = new ArrayList<>();
+        for (JsonNode team : objectMapper.readTree(body).path("teams")) {
+            teams.add(new TeamSummaryDto(
+                    team.path("id").asInt(),
+                    textOrNull(team.path("name")),
+                    textOrNull(team.path("teamName")),
+                    textOrNull(team.path("shortName")),
+                    textOrNull(team.path("clubName")),
+                    textOrNull(team.path("franchiseName")),
+                    textOrNull(team.path("locationName")),
+                    textOrNull(team.path("abbreviation")),
+                    textOrNull(team.path("firstYearOfPlay")),
+                    textOrNull(team.path("venue").path("name")),
+                    textOrNull(team.path("league").path("name")),
+                    textOrNull(team.path("division").path("name"))
+            ));
+        }
+        return List.copyOf(teams);
+    }
+
+    private String textOrNull(JsonNode node) {
+        return node.isMissingNode() || node.isNull() ? null : node.asText();
+    }
+
+    /**
+     * @param eTag strong ETag over {@code json}.
+     */
+    public record TeamsJson(byte[] json, String eTag) {
+    }
+
+    /**
+     * @param eTag our own strong ETag over {@code json}.
+     * @param upstreamETag validator sent back to the MLB API on the next refresh.
+     */
+    private record Snapshot(List<TeamSummaryDto> teams, byte[] json, String eTag,
+                            String upstreamETag, String upstreamLastModified, Instant loadedAt) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package org.example.worldsyncai.service.team;
+
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
+
+import java.util.List;
+
+/**
+ * Published by {@link TeamCatalog} whenever a new teams snapshot replaces the previous one.
+ */
+public record TeamCatalogRefreshedEvent(List<TeamSummaryDto> teams) {
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package org.example.worldsyncai.service.team;
+
+import org.example.worldsyncai.dto.team.TeamDetailsDto;
+
+public interface TeamDetailsService {
+
+    /**
+     * Returns team info and roster, served from the cache when possible.
+     * @param teamId MLB team ID.
+     * @return typed team details.
+     */
+    TeamDetailsDto getTeamDetails(int teamId);
+}
\ No newline at end of file
@@ -0,0 +1,200 @@
+package org.example.worldsyncai.service.team;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.worldsyncai.client.MlbStatsClient;
+import org.example.worldsyncai.util.HashUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Team logos persisted in a local directory, next to a precompressed {@code .svg.gz} variant.
+ * After a restart logos are served from disk; the MLB CDN is only asked for missing or outdated files.
+ * The in-memory part only indexes files (path, ETag), it never holds logo bytes.
+ * Only team IDs known to the {@link TeamCatalog} are ever requested from the CDN.
+ * An outdated file served because the CDN failed is only kept for {@code team.logo.stale-retry-minutes}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TeamLogoStore {
+
+    private final MlbStatsClient mlbStatsClient;
+    private final TeamCatalog teamCatalog;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService upstreamExecutor;
+
+    @Value("${mlb.team.logo}")
+    private String teamLogoUrl;
+
+    @Value("${team.logo.dir}")
+    private Path logoDir;
+
+    @Value("${team.logo.refresh-days}")
+    private long refreshDays;
+
+    @Value("${team.logo.max-entries}")
+    private long maxEntries;
+
+    @Value("${team.logo.stale-retry-minutes}")
+    private long staleRetryMinutes;
+
+    private AsyncLoadingCache<Integer, CachedLogo> logos;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(logoDir);
+
+        logos = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<Integer, CachedLogo>() {
+                    @Override
+                    public long expireAfterCreate(Integer teamId, CachedLogo logo, long currentTime) {
+                        return (logo.stale() ? Duration.ofMinutes(staleRetryMinutes) : Duration.ofDays(refreshDays)).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Integer teamId, CachedLogo logo, long currentTime, long currentDuration) {
+                        return expireAfterCreate(teamId, logo, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Integer teamId, CachedLogo logo, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .executor(upstreamExecutor)
+                .recordStats()
+                .buildAsync(this::loadLogo);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, logos.synchronous(), "teamLogos");
+    }
+
+    /**
+     * @return the stored logo, downloading it first if needed, or empty for a team ID not in the catalog.
+     *         Concurrent requests for one team share the download.
+     */
+    public Optional<LogoAsset> getLogo(int teamId) {
+        if (teamCatalog.findById(teamId).isEmpty()) {
+            // Without a loaded catalog the ID cannot be checked, so only logos already on disk are served.
+            return teamCatalog.getTeams().isEmpty() ? storedLogo(teamId) : Optional.empty();
+        }
+        try {
+            return Optional.of(logos.get(teamId).join().asset());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Optional<LogoAsset> storedLogo(int teamId) {
+        Path svg = logoDir.resolve(teamId + ".svg");
+        Path gzip = logoDir.resolve(teamId + ".svg.gz");
+        if (!Files.exists(svg) || !Files.exists(gzip)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(toAsset(svg, gzip, Files.readAllBytes(svg)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read logo " + svg, e);
+        }
+    }
+
+    private CachedLogo loadLogo(Integer teamId) throws IOException {
+        Path svg = logoDir.resolve(teamId + ".svg");
+        Path gzip = logoDir.resolve(teamId + ".svg.gz");
+
+        if (isFresh(svg) && Files.exists(gzip)) {
+            return new CachedLogo(toAsset(svg, gzip, Files.readAllBytes(svg)), false);
+        }
+
+        try {
+            byte[] logoBytes = mlbStatsClient.getBytes(teamLogoUrl + "/" + teamId + ".svg");
+            if (logoBytes == null || logoBytes.length == 0) {
+                throw new IllegalStateException("Empty logo response for team " + teamId);
+            }
+            writeAtomically(svg, out -> out.write(logoBytes));
+            writeAtomically(gzip, out -> {
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                    gzipOut.write(logoBytes);
+                }
+            });
+            log.debug("🆕 Logo for team {} downloaded and stored", teamId);
+            return new CachedLogo(toAsset(svg, gzip, logoBytes), false);
+        } catch (RuntimeException e) {
+            // An outdated logo is better than none while the CDN is unreachable.
+            if (Files.exists(svg) && Files.exists(gzip)) {
+                log.warn("⚠️ Could not refresh logo for team {}, serving stored copy: {}", teamId, e.getMessage());
+                return new CachedLogo(toAsset(svg, gzip, Files.readAllBytes(svg)), true);
+            }
+            throw e;
+        }
+    }
+
+    private boolean isFresh(Path file) throws IOException {
+        return Files.exists(file)
+                && Files.getLastModifiedTime(file).toInstant().isAfter(Instant.now().minus(Duration.ofDays(refreshDays)));
+    }
+
+    private LogoAsset toAsset(Path svg, Path gzip, byte[] logoBytes) {
+        String hash = HashUtils.sha256Hex(logoBytes);
+        return new LogoAsset(svg, "\"" + hash + "\"", gzip, "\"" + hash + "-gzip\"");
+    }
+
+    /**
+     * Writes to a temp file first, so readers never see a partially written logo.
+     */
+    private void writeAtomically(Path target, LogoWriter writer) {
+        try {
+            Path tmp = Files.createTempFile(logoDir, "logo-", ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(tmp)) {
+                    writer.write(out);
+                }
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store logo " + target, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface LogoWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * A logo on disk. Each encoding has its own strong ETag, since the bytes differ.
+     */
+    public record LogoAsset(Path svg, String eTag, Path gzip, String gzipETag) {
+    }
+
+    /**
+     * @param stale true for an outdated file kept because the download failed; the CDN is asked again soon.
+     */
+    private record CachedLogo(LogoAsset asset, boolean stale) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,154 @@
+package org.example.worldsyncai.service.team.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.worldsyncai.client.MlbStatsClient;
+import org.example.worldsyncai.dto.team.TeamDetailsDto;
+import org.example.worldsyncai.service.team.TeamDetailsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Caches team details with a size bound and a hard TTL.
+ * Entries older than the refresh interval are still served while a background reload replaces them
+ * (stale-while-revalidate), so only the very first request for a team waits on the MLB API.
+ * The cache holds the in-flight load, so concurrent misses for the same team share one pair of upstream calls.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TeamDetailsServiceImpl implements TeamDetailsService {
+
+    private final MlbStatsClient mlbStatsClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService upstreamExecutor;
+
+    @Value("${mlb.team.url}")
+    private String teamUrl;
+
+    @Value("${team.cache.max-size}")
+    private long maxSize;
+
+    @Value("${team.cache.ttl-minutes}")
+    private long ttlMinutes;
+
+    @Value("${team.cache.refresh-minutes}")
+    private long refreshMinutes;
+
+    /**
+     * Time source for expiry and refresh; tests swap it to step past the intervals.
+     */
+    private Ticker ticker = Ticker.systemTicker();
+
+    private AsyncLoadingCache<Integer, TeamDetailsDto> cache;
+
+    @PostConstruct
+    public void initCache() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .refreshAfterWrite(Duration.ofMinutes(refreshMinutes))
+                .executor(upstreamExecutor)
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync(this::loadTeamDetails);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "teamDetails");
+    }
+
+    @Override
+    public TeamDetailsDto getTeamDetails(int teamId) {
+        try {
+            return cache.get(teamId).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Requests team info and roster concurrently, so a miss costs the slower of the two calls.
+     */
+    private CompletableFuture<TeamDetailsDto> loadTeamDetails(Integer teamId, Executor executor) {
+        log.debug("🆕 Loading details for team {}", teamId);
+
+        CompletableFuture<JsonNode> teamInfo = CompletableFuture.supplyAsync(
+                () -> readTree(mlbStatsClient.get(teamUrl + "/" + teamId)), executor);
+        CompletableFuture<JsonNode> roster = CompletableFuture.supplyAsync(
+                () -> readTree(mlbStatsClient.get(teamUrl + "/" + teamId + "/roster?season=2025")), executor);
+
+        return teamInfo.thenCombine(roster, (info, players) -> new TeamDetailsDto(toTeamInfo(info), toRoster(players)));
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected MLB API response", e);
+        }
+    }
+
+    private TeamDetailsDto.TeamInfo toTeamInfo(JsonNode response) {
+        List<TeamDetailsDto.Team> teams = new ArrayList<>();
+        for (JsonNode team : response.path("teams")) {
+            teams.add(new TeamDetailsDto.Team(
+                    team.path("id").asInt(),
+                    team.path("name").asText(),
+                    textOrNull(team.path("abbreviation")),
+                    toReference(team.path("venue")),
+                    toReference(team.path("league")),
+                    toReference(team.path("division"))
+            ));
+        }
+        return new TeamDetailsDto.TeamInfo(List.copyOf(teams));
+    }
+
+    private List<TeamDetailsDto.RosterEntry> toRoster(JsonNode response) {
+        List<TeamDetailsDto.RosterEntry> roster = new ArrayList<>();
+        for (JsonNode entry : response.path("roster")) {
+            JsonNode person = entry.path("person");
+            JsonNode position = entry.path("position");
+            roster.add(new TeamDetailsDto.RosterEntry(
+                    new TeamDetailsDto.Person(person.path("id").asInt(), person.path("fullName").asText()),
+                    textOrNull(entry.path("jerseyNumber")),
+                    new TeamDetailsDto.Position(
+                            textOrNull(position.path("code")),
+                            textOrNull(position.path("name")),
+                            textOrNull(position.path("abbreviation"))
+                    )
+            ));
+        }
+        return List.copyOf(roster);
+    }
+
+    private TeamDetailsDto.Reference toReference(JsonNode node) {
+        if (node.isMissingNode() || node.isNull()) {
+            return null;
+        }
+        return new TeamDetailsDto.Reference(node.has("id") ? node.get("id").asInt() : null, textOrNull(node.path("name")));
+    }
+
+    private String textOrNull(JsonNode node) {
+        return node.isMissingNode() || node.isNull() ? null : node.asText();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package org.example.worldsyncai.util;
+
+/**
+ * Conditional request helpers for endpoints that compute their own ETags.
+ */
+public final class ETagUtils {
+
+    private ETagUtils() {
+    }
+
+    /**
+     * @param ifNoneMatch value of the If-None-Match request header, may be {@code null}.
+     * @param eTag current quoted ETag of the representation.
+     * @return true if the client copy is current and a 304 can be sent (weak comparison, as RFC 9110 requires here).
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || stripWeak(trimmed).equals(stripWeak(eTag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package org.example.worldsyncai.auth;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.example.worldsyncai.service.impl.SecretManagerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtTokenProviderTest {
+
+    private static final byte[] KEY_BYTES = "0123456789abcdef0123456789abcdef".getBytes();
+
+    private JwtTokenProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        SecretManagerService secretManagerService = mock(SecretManagerService.class);
+        when(secretManagerService.getSecret("jwt-secret")).thenReturn(Base64.getEncoder().encodeToString(KEY_BYTES));
+
+        provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secretManagerService", secretManagerService);
+        ReflectionTestUtils.setField(provider, "validationCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(provider, "validationCacheTtlSeconds", 300L);
+        provider.init();
+    }
+
+    @Test
+    void validatesGeneratedTokenAndReadsSubject() {
+        String token = provider.generateToken(new UsernamePasswordAuthenticationToken(
+                new User("alice", "secret", List.of()), null, List.of()));
+
+        assertThat(provider.validateToken(token)).isTrue();
+        assertThat(provider.getUsernameFromToken(token)).isEqualTo("alice");
+        // Second read comes from the validation cache and must give the same answer.
+        assertThat(provider.getUsernameFromToken(token)).isEqualTo("alice");
+    }
+
+    @Test
+    void rejectsTamperedTokenEveryTime() {
+        String token = provider.generateToken(new UsernamePasswordAuthenticationToken(
+                new User("alice", "secret", List.of()), null, List.of()));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(provider.validateToken(tampered)).isFalse();
+        assertThat(provider.validateToken(tampered)).isFalse();
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() {
+        String foreign = Jwts.builder()
+                .subject("mallory")
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor("fedcba9876543210fedcba9876543210".getBytes()))
+                .compact();
+
+        assertThat(provider.validateToken(foreign)).isFalse();
+    }
+
+    @Test
+    void cachedTokenStopsValidatingAtItsExpiry() throws InterruptedException {
+        String shortLived = Jwts.builder()
+                .subject("alice")
+                .expiration(Date.from(Instant.now().plusMillis(1500)))
+                .signWith(Keys.hmacShaKeyFor(KEY_BYTES))
+                .compact();
+
+        assertThat(provider.validateToken(shortLived)).isTrue();
+
+        Thread.sleep(2500);
+
+        // The cache TTL is 300 s, but the entry must not outlive the token's exp claim.
+        assertThat(provider.validateToken(shortLived)).isFalse();
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.worldsyncai.controller;
+
+import org.example.worldsyncai.auth.JwtTokenProvider;
+import org.example.worldsyncai.service.player.PlayerHeadshotStore;
+import org.example.worldsyncai.service.player.PlayerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PlayerControllerTest {
+
+    private static final String AUTH = "Bearer token";
+
+    private final PlayerService playerService = mock(PlayerService.class);
+    private PlayerController controller;
+
+    @BeforeEach
+    void setUp() {
+        JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+        when(jwtTokenProvider.validateToken(anyString())).thenReturn(true);
+        when(playerService.getPlayers(anyCollection())).thenReturn(List.of());
+        controller = new PlayerController(playerService, jwtTokenProvider, mock(PlayerHeadshotStore.class));
+    }
+
+    @Test
+    void acceptsUpTo200Ids() {
+        assertThat(controller.getPlayersDetails(ids(200), AUTH).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void rejectsMoreThan200IdsWithoutLoading() {
+        assertThat(controller.getPlayersDetails(ids(201), AUTH).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(controller.getPlayersDetails(List.of(), AUTH).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(playerService, never()).getPlayers(anyCollection());
+    }
+
+    private List<Integer> ids(int count) {
+        return IntStream.rangeClosed(1, count).boxed().toList();
+    }
+}
@@ -0,0 +1,307 @@
+package org.example.worldsyncai.service.calendar.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.calendar.Calendar;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.Events;
+import org.example.worldsyncai.dto.FavoriteTeamDto;
+import org.example.worldsyncai.dto.calendar.CalendarSyncJobDto;
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
+import org.example.worldsyncai.model.CalendarGameEvent;
+import org.example.worldsyncai.model.CalendarSyncState;
+import org.example.worldsyncai.repository.CalendarGameEventRepository;
+import org.example.worldsyncai.repository.CalendarSyncStateRepository;
+import org.example.worldsyncai.service.FavoriteTeamService;
+import org.example.worldsyncai.service.GoogleCalendarService;
+import org.example.worldsyncai.service.UserService;
+import org.example.worldsyncai.service.schedule.ScheduleStore;
+import org.example.worldsyncai.service.team.TeamCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs sync jobs on the calling thread against a mocked Calendar client.
+ * Batched inserts and updates are answered when their batch is executed: inserts of event IDs in
+ * {@link #conflictingInserts} fail with 409, everything else succeeds.
+ */
+class CalendarSyncServiceImplTest {
+
+    private static final long USER_ID = 7L;
+    private static final int YANKEES = 147;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CalendarGameEventRepository gameEventRepository = mock(CalendarGameEventRepository.class);
+    private final CalendarSyncStateRepository syncStateRepository = mock(CalendarSyncStateRepository.class);
+    private final ScheduleStore scheduleStore = mock(ScheduleStore.class);
+    private final Calendar calendar = mock(Calendar.class);
+    private final Calendar.Events events = mock(Calendar.Events.class);
+
+    private final Map<Long, CalendarGameEvent> savedRows = new HashMap<>();
+    private final List<Event> inserted = new ArrayList<>();
+    private final List<Event> updated = new ArrayList<>();
+    private final Set<String> conflictingInserts = new HashSet<>();
+    private final Map<BatchRequest, List<BatchOperation>> queued = new HashMap<>();
+
+    private CalendarSyncState state;
+    private CalendarSyncServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        GoogleCalendarService googleCalendarService = mock(GoogleCalendarService.class);
+        when(googleCalendarService.getCalendarServiceForUser(USER_ID)).thenReturn(calendar);
+
+        FavoriteTeamService favoriteTeamService = mock(FavoriteTeamService.class);
+        when(favoriteTeamService.getFavoriteTeamsByUserId(USER_ID))
+                .thenReturn(List.of(new FavoriteTeamDto(1L, "New York Yankees", USER_ID)));
+
+        TeamCatalog teamCatalog = mock(TeamCatalog.class);
+        when(teamCatalog.getTeams()).thenReturn(List.of(new TeamSummaryDto(YANKEES, "New York Yankees", "Yankees",
+                "NY Yankees", "Yankees", "New York", "New York", "NYY", "1903", "Yankee Stadium", null, null)));
+
+        state = new CalendarSyncState(USER_ID);
+        when(syncStateRepository.findById(USER_ID)).thenAnswer(invocation -> Optional.of(state));
+        when(gameEventRepository.findByUserId(USER_ID)).thenAnswer(invocation -> List.copyOf(savedRows.values()));
+        doAnswer(invocation -> {
+            Iterable<CalendarGameEvent> rows = invocation.getArgument(0);
+            rows.forEach(row -> savedRows.put(row.getGamePk(), row));
+            return null;
+        }).when(gameEventRepository).saveAll(anyIterable());
+
+        ExecutorService sameThread = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(sameThread).execute(any(Runnable.class));
+
+        mockCalendarWrites();
+        schedule();
+
+        service = new CalendarSyncServiceImpl(googleCalendarService, favoriteTeamService, mock(UserService.class),
+                teamCatalog, scheduleStore, gameEventRepository, syncStateRepository, sameThread);
+        ReflectionTestUtils.setField(service, "maxJobs", 10L);
+        ReflectionTestUtils.setField(service, "jobTtlMinutes", 60L);
+        service.initCache();
+    }
+
+    @Test
+    void expiredSyncTokenFallsBackToAFullList() throws IOException {
+        state.setSyncToken("expired-token");
+        Calendar.Events.List incremental = mock(Calendar.Events.List.class, RETURNS_SELF);
+        when(incremental.execute()).thenThrow(new GoogleJsonResponseException(
+                new HttpResponseException.Builder(410, "Gone", new HttpHeaders()), null));
+        Calendar.Events.List full = listing("fresh-token");
+        when(events.list("primary")).thenReturn(incremental, full);
+
+        CalendarSyncJobDto job = service.startFavoriteTeamsSync(USER_ID);
+
+        assertThat(job.status()).isEqualTo("COMPLETED");
+        verify(incremental).setSyncToken("expired-token");
+        verify(full, never()).setSyncToken(anyString());
+        assertThat(state.getSyncToken()).isEqualTo("fresh-token");
+    }
+
+    @Test
+    void eventsPurgedFromTheCalendarAreMarkedDeletedAndNotReAdded() throws IOException {
+        savedRows.put(1L, row(1L, false, "hash-1"));
+        savedRows.put(2L, row(2L, false, "hash-2"));
+        schedule(game(1, "2099-04-01T23:05:00Z", "Scheduled"));
+        // A full list only shows game 2; the user emptied the trash after deleting game 1.
+        Calendar.Events.List full = listing("token", event(2, "confirmed"));
+        when(events.list("primary")).thenReturn(full);
+
+        CalendarSyncJobDto job = service.startFavoriteTeamsSync(USER_ID);
+
+        assertThat(savedRows.get(1L).isDeletedByUser()).isTrue();
+        assertThat(savedRows.get(2L).isDeletedByUser()).isFalse();
+        assertThat(job.skippedEvents()).isEqualTo(1);
+        assertThat(inserted).isEmpty();
+        assertThat(updated).isEmpty();
+    }
+
+    @Test
+    void restoredEventIsRewritten() throws IOException {
+        state.setSyncToken("token");
+        savedRows.put(1L, row(1L, true, "stale-hash"));
+        schedule(game(1, "2099-04-01T23:05:00Z", "Scheduled"));
+        Calendar.Events.List changes = listing("token-2", event(1, "confirmed"));
+        Calendar.Events.List afterWrites = listing("token-3");
+        when(events.list("primary")).thenReturn(changes, afterWrites);
+
+        CalendarSyncJobDto job = service.startFavoriteTeamsSync(USER_ID);
+
+        assertThat(job.updatedEvents()).isEqualTo(1);
+        assertThat(updated).extracting(Event::getId).containsExactly("mlbgame1");
+        CalendarGameEvent row = savedRows.get(1L);
+        assertThat(row.isDeletedByUser()).isFalse();
+        assertThat(row.getContentHash()).isNotEqualTo("stale-hash").isEqualTo(GameEvents.contentHash(updated.get(0)));
+        assertThat(state.getSyncToken()).isEqualTo("token-3");
+    }
+
+    @Test
+    void insertConflictIsRetriedAsUpdate() throws IOException {
+        schedule(game(1, "2099-04-01T23:05:00Z", "Scheduled"), game(2, "2099-04-02T23:05:00Z", "Scheduled"));
+        conflictingInserts.add("mlbgame2");
+        Calendar.Events.List list = listing("token");
+        when(events.list("primary")).thenReturn(list);
+
+        CalendarSyncJobDto job = service.startFavoriteTeamsSync(USER_ID);
+
+        assertThat(job.createdEvents()).isEqualTo(1);
+        assertThat(job.updatedEvents()).isEqualTo(1);
+        assertThat(job.failedEvents()).isZero();
+        assertThat(inserted).extracting(Event::getId).containsExactlyInAnyOrder("mlbgame1", "mlbgame2");
+        assertThat(updated).extracting(Event::getId).containsExactly("mlbgame2");
+        assertThat(savedRows.get(2L).getContentHash()).isNotNull();
+    }
+
+    @Test
+    void postponedGameUsesItsMakeupDate() throws IOException {
+        schedule(game(1, "2099-04-01T23:05:00Z", "Postponed"), game(1, "2099-04-02T17:05:00Z", "Scheduled"));
+        Calendar.Events.List list = listing("token");
+        when(events.list("primary")).thenReturn(list);
+
+        CalendarSyncJobDto job = service.startFavoriteTeamsSync(USER_ID);
+
+        assertThat(job.totalGames()).isEqualTo(1);
+        assertThat(inserted).hasSize(1);
+        assertThat(inserted.get(0).getStart().getDateTime().toStringRfc3339()).startsWith("2099-04-02T17:05:00");
+        assertThat(inserted.get(0).getSummary()).doesNotContain("Postponed");
+    }
+
+    @Test
+    void gamesWithoutStartTimeAreSkippedAndCounted() throws IOException {
+        schedule(game(1, "2099-04-01T23:05:00Z", "Scheduled"), game(2, null, "Scheduled"), game(3, "TBD", "Scheduled"));
+        Calendar.Events.List list = listing("token");
+        when(events.list("primary")).thenReturn(list);
+
+        CalendarSyncJobDto job = service.startFavoriteTeamsSync(USER_ID);
+
+        assertThat(job.status()).isEqualTo("COMPLETED");
+        assertThat(job.createdEvents()).isEqualTo(1);
+        assertThat(job.skippedEvents()).isEqualTo(2);
+        assertThat(job.processedGames()).isEqualTo(3);
+        assertThat(inserted).extracting(Event::getId).containsExactly("mlbgame1");
+    }
+
+    private void mockCalendarWrites() throws IOException {
+        when(calendar.events()).thenReturn(events);
+        when(calendar.batch()).thenAnswer(invocation -> {
+            BatchRequest batch = mock(BatchRequest.class);
+            queued.put(batch, new ArrayList<>());
+            doAnswer(execute -> {
+                for (BatchOperation operation : queued.get(batch)) {
+                    operation.respond();
+                }
+                return null;
+            }).when(batch).execute();
+            return batch;
+        });
+
+        when(events.insert(eq("primary"), any(Event.class))).thenAnswer(invocation -> {
+            Event event = invocation.getArgument(1);
+            Calendar.Events.Insert insert = mock(Calendar.Events.Insert.class);
+            doAnswer(queue -> {
+                JsonBatchCallback<Event> callback = queue.getArgument(1);
+                queued.get(queue.<BatchRequest>getArgument(0)).add(() -> {
+                    inserted.add(event);
+                    if (conflictingInserts.contains(event.getId())) {
+                        callback.onFailure(error(409), new HttpHeaders());
+                    } else {
+                        callback.onSuccess(event, new HttpHeaders());
+                    }
+                });
+                return null;
+            }).when(insert).queue(any(BatchRequest.class), any());
+            return insert;
+        });
+
+        when(events.update(eq("primary"), anyString(), any(Event.class))).thenAnswer(invocation -> {
+            Event event = invocation.getArgument(2);
+            Calendar.Events.Update update = mock(Calendar.Events.Update.class);
+            doAnswer(queue -> {
+                JsonBatchCallback<Event> callback = queue.getArgument(1);
+                queued.get(queue.<BatchRequest>getArgument(0)).add(() -> {
+                    updated.add(event);
+                    callback.onSuccess(event, new HttpHeaders());
+                });
+                return null;
+            }).when(update).queue(any(BatchRequest.class), any());
+            return update;
+        });
+    }
+
+    private Calendar.Events.List listing(String nextSyncToken, Event... items) throws IOException {
+        Calendar.Events.List list = mock(Calendar.Events.List.class, RETURNS_SELF);
+        when(list.execute()).thenReturn(new Events().setItems(Arrays.asList(items)).setNextSyncToken(nextSyncToken));
+        return list;
+    }
+
+    private void schedule(String... games) throws IOException {
+        JsonNode date = objectMapper.readTree("{\"games\":[" + String.join(",", games) + "]}");
+        when(scheduleStore.getDates(any(), isNull(), eq(YANKEES))).thenReturn(Optional.of(List.of(date)));
+    }
+
+    private static String game(long gamePk, String gameDate, String detailedState) {
+        return "{\"gamePk\":" + gamePk + ","
+                + (gameDate != null ? "\"gameDate\":\"" + gameDate + "\"," : "")
+                + "\"status\":{\"detailedState\":\"" + detailedState + "\"},"
+                + "\"venue\":{\"name\":\"Yankee Stadium\"},"
+                + "\"teams\":{\"home\":{\"team\":{\"id\":147,\"name\":\"New York Yankees\"}},"
+                + "\"away\":{\"team\":{\"id\":111,\"name\":\"Boston Red Sox\"}}}}";
+    }
+
+    private static Event event(long gamePk, String status) {
+        return new Event().setId(GameEvents.eventId(gamePk)).setStatus(status);
+    }
+
+    private static CalendarGameEvent row(long gamePk, boolean deletedByUser, String contentHash) {
+        CalendarGameEvent row = new CalendarGameEvent(USER_ID, gamePk, GameEvents.eventId(gamePk));
+        row.setDeletedByUser(deletedByUser);
+        row.setContentHash(contentHash);
+        return row;
+    }
+
+    private static GoogleJsonError error(int code) {
+        GoogleJsonError error = new GoogleJsonError();
+        error.setCode(code);
+        error.setMessage("HTTP " + code);
+        return error;
+    }
+
+    @FunctionalInterface
+    private interface BatchOperation {
+        void respond() throws IOException;
+    }
+}
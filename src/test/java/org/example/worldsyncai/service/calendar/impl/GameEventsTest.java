@@ -0,0 +1,58 @@
+package org.example.worldsyncai.service.calendar.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.services.calendar.model.Event;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameEventsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void mapsAGameToAThreeHourEvent() throws IOException {
+        Event event = GameEvents.toEvent(game("\"2025-04-01T23:05:00Z\"", "Scheduled", false)).orElseThrow();
+
+        assertThat(event.getId()).isEqualTo("mlbgame778899");
+        assertThat(event.getSummary()).isEqualTo("⚾ Match: Boston Red Sox at New York Yankees");
+        assertThat(event.getDescription()).isEqualTo("📍 Venue: Yankee Stadium");
+        assertThat(event.getEnd().getDateTime().getValue() - event.getStart().getDateTime().getValue())
+                .isEqualTo(3 * 60 * 60 * 1000L);
+    }
+
+    @Test
+    void postponedGameIsMarkedInTheSummary() throws IOException {
+        Event event = GameEvents.toEvent(game("\"2025-04-01T23:05:00Z\"", "Postponed", false)).orElseThrow();
+
+        assertThat(event.getSummary()).endsWith("(Postponed)");
+    }
+
+    @Test
+    void gameWithoutStartTimeGivesNoEvent() throws IOException {
+        assertThat(GameEvents.toEvent(game(null, "Scheduled", false))).isEmpty();
+        assertThat(GameEvents.toEvent(game("\"\"", "Scheduled", false))).isEmpty();
+        assertThat(GameEvents.toEvent(game("\"TBD\"", "Scheduled", false))).isEmpty();
+        assertThat(GameEvents.toEvent(game("\"2025-04-01T07:33:00Z\"", "Scheduled", true))).isEmpty();
+    }
+
+    @Test
+    void gamePkIsReadBackOnlyFromOurEventIds() {
+        assertThat(GameEvents.gamePk(GameEvents.eventId(778899))).isEqualTo(778899L);
+        assertThat(GameEvents.gamePk("abc123")).isNull();
+        assertThat(GameEvents.gamePk("mlbgamex")).isNull();
+        assertThat(GameEvents.gamePk(null)).isNull();
+    }
+
+    private JsonNode game(String gameDate, String detailedState, boolean startTimeTbd) throws IOException {
+        return objectMapper.readTree("{\"gamePk\":778899,"
+                + (gameDate != null ? "\"gameDate\":" + gameDate + "," : "")
+                + "\"status\":{\"detailedState\":\"" + detailedState + "\",\"startTimeTBD\":" + startTimeTbd + "},"
+                + "\"venue\":{\"name\":\"Yankee Stadium\"},"
+                + "\"teams\":{\"home\":{\"team\":{\"name\":\"New York Yankees\"}},"
+                + "\"away\":{\"team\":{\"name\":\"Boston Red Sox\"}}}}");
+    }
+}
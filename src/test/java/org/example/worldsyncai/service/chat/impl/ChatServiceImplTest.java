@@ -0,0 +1,143 @@
+package org.example.worldsyncai.service.chat.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.worldsyncai.service.chat.AiService;
+import org.example.worldsyncai.service.chat.MlbApiService;
+import org.example.worldsyncai.service.chat.NLPService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatServiceImplTest {
+
+    private static final String QUESTION = "When do the Yankees play next?";
+
+    private final MlbApiService mlbApiService = mock(MlbApiService.class);
+    private final AiService aiService = mock(AiService.class);
+    private final NLPService nlpService = mock(NLPService.class);
+    private ChatServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(nlpService.detectIntent(anyString())).thenReturn("TEAM_SCHEDULE");
+        when(mlbApiService.findTeamIds(anyString())).thenReturn(List.of("147"));
+        when(mlbApiService.getTeamSchedule("147")).thenReturn("Next game: Boston Red Sox vs New York Yankees on 2025-04-01.");
+
+        service = new ChatServiceImpl(mlbApiService, aiService, nlpService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "answerCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(service, "answerCacheTtlMinutes", 60L);
+        service.initCache();
+    }
+
+    @Test
+    void sameQuestionWithSameContextIsAnsweredFromCache() {
+        when(aiService.getAIResponse(anyString())).thenReturn("Tomorrow against Boston.");
+
+        assertThat(service.processUserQuery(QUESTION, true).getResponse()).isEqualTo("Tomorrow against Boston.");
+        assertThat(service.processUserQuery("when do the yankees play next", true).getResponse())
+                .isEqualTo("Tomorrow against Boston.");
+
+        verify(aiService, times(1)).getAIResponse(anyString());
+    }
+
+    @Test
+    void changedContextFingerprintMissesTheCache() {
+        when(aiService.getAIResponse(anyString())).thenReturn("Tomorrow against Boston.", "Friday against Toronto.");
+        service.processUserQuery(QUESTION, true);
+
+        when(mlbApiService.getTeamSchedule("147")).thenReturn("Next game: Toronto Blue Jays vs New York Yankees on 2025-04-04.");
+
+        assertThat(service.processUserQuery(QUESTION, true).getResponse()).isEqualTo("Friday against Toronto.");
+        verify(aiService, times(2)).getAIResponse(anyString());
+    }
+
+    @Test
+    void bypassesCacheWhenNotAllowed() {
+        when(aiService.getAIResponse(anyString())).thenReturn("Tomorrow against Boston.");
+
+        service.processUserQuery(QUESTION, true);
+        service.processUserQuery(QUESTION, false);
+
+        verify(aiService, times(2)).getAIResponse(anyString());
+    }
+
+    @Test
+    void doesNotCacheErrorOrBlankAnswers() {
+        when(aiService.getAIResponse(anyString())).thenReturn(AiService.ERROR_RESPONSE, " ", "Tomorrow against Boston.");
+
+        service.processUserQuery(QUESTION, true);
+        service.processUserQuery(QUESTION, true);
+
+        assertThat(service.processUserQuery(QUESTION, true).getResponse()).isEqualTo("Tomorrow against Boston.");
+        verify(aiService, times(3)).getAIResponse(anyString());
+    }
+
+    @Test
+    void cachesFinishedStreamAndReplaysItAsOneChunk() {
+        stream(true, "Tomorrow ", "against Boston.");
+        streamAndCollect();
+
+        assertThat(streamAndCollect()).containsExactly("Tomorrow against Boston.");
+        verify(aiService, times(1)).streamAIResponse(anyString(), any());
+    }
+
+    @Test
+    void doesNotCacheStreamCutOffBeforeFinish() {
+        stream(false, "Tomorrow ");
+        streamAndCollect();
+        streamAndCollect();
+
+        verify(aiService, times(2)).streamAIResponse(anyString(), any());
+    }
+
+    @Test
+    void reportsWhetherTheStreamedAnswerIsComplete() {
+        List<String> chunks = new ArrayList<>();
+
+        stream(false, "Tomorrow ");
+        assertThat(service.streamUserQuery(QUESTION, true, chunks::add)).isFalse();
+
+        stream(true, "Tomorrow ", "against Boston.");
+        assertThat(service.streamUserQuery(QUESTION, true, chunks::add)).isTrue();
+        // Replayed from the cache.
+        assertThat(service.streamUserQuery(QUESTION, true, chunks::add)).isTrue();
+    }
+
+    @Test
+    void doesNotCacheBlankStream() {
+        stream(true, " ", "");
+        streamAndCollect();
+        streamAndCollect();
+
+        verify(aiService, times(2)).streamAIResponse(anyString(), any());
+    }
+
+    private void stream(boolean finished, String... chunks) {
+        doAnswer(invocation -> {
+            Consumer<String> onChunk = invocation.getArgument(1);
+            for (String chunk : chunks) {
+                onChunk.accept(chunk);
+            }
+            return finished;
+        }).when(aiService).streamAIResponse(anyString(), any());
+    }
+
+    private List<String> streamAndCollect() {
+        List<String> chunks = new ArrayList<>();
+        service.streamUserQuery(QUESTION, true, chunks::add);
+        return chunks;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.worldsyncai.service.chat.impl;
+
+import org.example.worldsyncai.service.chat.MlbApiService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocalIntentClassifierTest {
+
+    private LocalIntentClassifier classifier;
+
+    @BeforeEach
+    void setUp() {
+        MlbApiService mlbApiService = mock(MlbApiService.class);
+        when(mlbApiService.findTeamIds(anyString())).thenAnswer(invocation -> {
+            String text = LocalIntentClassifier.normalize(invocation.getArgument(0));
+            return text.contains("yankees") || text.contains("red sox") || text.contains("dodgers")
+                    ? List.of("147")
+                    : List.of();
+        });
+        classifier = new LocalIntentClassifier(mlbApiService);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "What is the Yankees schedule?",
+            "When is the next game for the Dodgers?",
+            "Upcoming Red Sox games",
+            "What time is first pitch for the Yankees?",
+            "Who do the Yankees play against tonight?",
+            "Dodgers vs Giants tomorrow"
+    })
+    void schedulePhraseWithTeamIsConfidentTeamSchedule(String message) {
+        assertThat(classifier.classify(message)).isEqualTo(new LocalIntentClassifier.Classification("TEAM_SCHEDULE", true));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "How many home runs do the Yankees have?",
+            "When did the Red Sox last win the World Series?",
+            "Who plays first base for the Dodgers?",
+            "Did the Yankees win today?",
+            "Which Red Sox player hit the most away home runs?",
+            "When did the Dodgers start playing in Los Angeles?",
+            "Who will pitch for the Yankees tonight?"
+    })
+    void genericGameWordWithTeamIsLeftToTheModel(String message) {
+        assertThat(classifier.classify(message).confident()).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "When is the next game?",
+            "Show me the schedule"
+    })
+    void scheduleQuestionWithoutTeamIsLeftToTheModel(String message) {
+        assertThat(classifier.classify(message).confident()).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "What is a designated hitter?",
+            "Explain the infield fly rule"
+    })
+    void questionWithoutTeamOrGameWordsIsConfidentGeneralQuestion(String message) {
+        assertThat(classifier.classify(message)).isEqualTo(new LocalIntentClassifier.Classification("GENERAL_QUESTION", true));
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.worldsyncai.service.chat.impl;
+
+import org.example.worldsyncai.client.MlbStatsClient;
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
+import org.example.worldsyncai.service.schedule.ScheduleStore;
+import org.example.worldsyncai.service.team.TeamCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MlbApiServiceImplTest {
+
+    private MlbApiServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        TeamCatalog teamCatalog = mock(TeamCatalog.class);
+        when(teamCatalog.getTeams()).thenReturn(List.of(
+                team(147, "New York Yankees", "Yankees", "NY Yankees", "New York", "NYY"),
+                team(121, "New York Mets", "Mets", "NY Mets", "New York", "NYM"),
+                team(111, "Boston Red Sox", "Red Sox", "Boston", "Boston", "BOS"),
+                team(142, "Minnesota Twins", "Twins", "Minnesota", "Minnesota", "MIN"),
+                team(136, "Seattle Mariners", "Mariners", "Seattle", "Seattle", "SEA"),
+                team(116, "Detroit Tigers", "Tigers", "Detroit", "Detroit", "DET")
+        ));
+
+        service = new MlbApiServiceImpl(mock(MlbStatsClient.class), teamCatalog, mock(ScheduleStore.class));
+        service.loadTeams();
+    }
+
+    @Test
+    void findsTeamsByNameNicknameAndUniqueCity() {
+        assertThat(service.findTeamIds("How are the New York Yankees doing?")).containsExactly("147");
+        assertThat(service.findTeamIds("mets game")).containsExactly("121");
+        assertThat(service.findTeamIds("Anything new in Boston?")).containsExactly("111");
+    }
+
+    @Test
+    void sharedCityIsNotATeamMention() {
+        assertThat(service.findTeamIds("What's the weather in New York?")).isEmpty();
+    }
+
+    @Test
+    void abbreviationsMatchOnlyInCapitals() {
+        assertThat(service.findTeamIds("NYY vs BOS")).containsExactly("147", "111");
+        assertThat(service.findTeamIds("Is MIN playing?")).containsExactly("142");
+
+        assertThat(service.findTeamIds("Give me a 10 min summary")).isEmpty();
+        assertThat(service.findTeamIds("Did you see the sea?")).isEmpty();
+        assertThat(service.findTeamIds("det and nyy")).isEmpty();
+    }
+
+    @Test
+    void abbreviationInsideLongerCapitalWordDoesNotMatch() {
+        assertThat(service.findTeamIds("MINE and SEATTLE")).containsExactly("136");
+    }
+
+    private static TeamSummaryDto team(int id, String name, String teamName, String shortName, String location,
+                                       String abbreviation) {
+        return new TeamSummaryDto(id, name, teamName, shortName, teamName, location, location, abbreviation,
+                "1901", null, null, null);
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.worldsyncai.service.chat.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.worldsyncai.service.chat.MlbApiService;
+import org.example.worldsyncai.service.impl.SecretManagerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NLPServiceImplTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NLPServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        // Like the real index, the abbreviation is only a team in capitals.
+        MlbApiService mlbApiService = mock(MlbApiService.class);
+        when(mlbApiService.findTeamIds(anyString())).thenAnswer(invocation ->
+                ((String) invocation.getArgument(0)).contains("NYY") ? List.of("147") : List.of());
+
+        SecretManagerService secretManagerService = mock(SecretManagerService.class);
+        when(secretManagerService.getGeminiApiKey()).thenReturn("key");
+
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(String.class))).thenAnswer(invocation -> {
+            String body = (String) ((HttpEntity<?>) invocation.getArgument(1)).getBody();
+            String intent = body.contains("NYY") ? "TEAM_SCHEDULE" : "GENERAL_QUESTION";
+            return ResponseEntity.ok("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + intent + "\"}]}}]}");
+        });
+
+        service = new NLPServiceImpl(restTemplate, secretManagerService, new LocalIntentClassifier(mlbApiService), meterRegistry);
+        ReflectionTestUtils.setField(service, "geminiApiUrl", "http://gemini");
+        ReflectionTestUtils.setField(service, "intentCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(service, "intentCacheTtlMinutes", 60L);
+        service.initCache();
+    }
+
+    @Test
+    void differentlyCasedMessagesAreClassifiedSeparately() {
+        assertThat(service.detectIntent("when do NYY play")).isEqualTo("TEAM_SCHEDULE");
+        assertThat(service.detectIntent("when do nyy play")).isEqualTo("GENERAL_QUESTION");
+
+        assertThat(service.detectIntent("when do NYY play")).isEqualTo("TEAM_SCHEDULE");
+        assertThat(classifications("gemini")).isEqualTo(2);
+        assertThat(classifications("cache")).isEqualTo(1);
+    }
+
+    private double classifications(String source) {
+        return meterRegistry.counter("chat.intent.classifications", "source", source).count();
+    }
+}
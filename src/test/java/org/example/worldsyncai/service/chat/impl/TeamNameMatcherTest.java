@@ -0,0 +1,65 @@
+package org.example.worldsyncai.service.chat.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamNameMatcherTest {
+
+    private static final String RED_SOX = "111";
+    private static final String WHITE_SOX = "145";
+    private static final String CUBS = "112";
+    private static final String RAYS = "139";
+    private static final String YANKEES = "147";
+    private static final String METS = "121";
+
+    private final TeamNameMatcher matcher = TeamNameMatcher.build(Map.of(
+            "chicago white sox", Set.of(WHITE_SOX),
+            "white sox", Set.of(WHITE_SOX),
+            "red sox", Set.of(RED_SOX),
+            "boston red sox", Set.of(RED_SOX),
+            "sox", Set.of(RED_SOX, WHITE_SOX),
+            "chicago cubs", Set.of(CUBS),
+            "cubs", Set.of(CUBS),
+            "rays", Set.of(RAYS),
+            "new york", Set.of(METS, YANKEES)
+    ));
+
+    @Test
+    void longestOverlappingNameWins() {
+        assertThat(matcher.findTeamIds("when do the chicago white sox play")).containsExactly(WHITE_SOX);
+        assertThat(matcher.findTeamIds("white sox tickets")).containsExactly(WHITE_SOX);
+    }
+
+    @Test
+    void shortNameAloneKeepsAllItsTeams() {
+        assertThat(matcher.findTeamIds("the sox won")).containsExactlyInAnyOrder(RED_SOX, WHITE_SOX);
+    }
+
+    @Test
+    void ambiguousNameResolvesToEveryTeamItNames() {
+        assertThat(matcher.findTeamIds("baseball in new york")).containsExactlyInAnyOrder(METS, YANKEES);
+    }
+
+    @Test
+    void returnsTeamsInOrderOfAppearanceWithoutDuplicates() {
+        assertThat(matcher.findTeamIds("cubs vs boston red sox then the cubs again"))
+                .containsExactly(CUBS, RED_SOX);
+    }
+
+    @Test
+    void matchesOnlyWholeWords() {
+        assertThat(matcher.findTeamIds("xrays and raysons")).isEmpty();
+        assertThat(matcher.findTeamIds("subscubs")).isEmpty();
+        assertThat(matcher.findTeamIds("rays")).containsExactly(RAYS);
+        assertThat(matcher.findTeamIds("go rays go")).containsExactly(RAYS);
+    }
+
+    @Test
+    void emptyMatcherFindsNothing() {
+        assertThat(TeamNameMatcher.EMPTY.findTeamIds("new york yankees")).isEmpty();
+    }
+}
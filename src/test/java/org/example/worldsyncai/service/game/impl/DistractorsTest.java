@@ -0,0 +1,48 @@
+package org.example.worldsyncai.service.game.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DistractorsTest {
+
+    @Test
+    void optionsHoldTheAnswerOnceAndDistinctWrongAnswers() {
+        List<String> candidates = Arrays.asList("Fenway Park", "fenway park", "Wrigley Field", "WRIGLEY FIELD",
+                "Dodger Stadium", null, " ", "Truist Park");
+
+        List<String> options = Distractors.options(new SplittableRandom(1), "Fenway Park", candidates).orElseThrow();
+
+        assertThat(options).hasSize(Distractors.OPTION_COUNT);
+        assertThat(options).filteredOn(option -> option.equalsIgnoreCase("Fenway Park")).containsExactly("Fenway Park");
+        assertThat(options.stream().map(String::toLowerCase)).doesNotHaveDuplicates();
+        assertThat(options).doesNotContainNull().noneMatch(String::isBlank);
+    }
+
+    @Test
+    void tooFewDistinctWrongAnswersGiveNoOptions() {
+        List<String> candidates = List.of("Fenway Park", "Wrigley Field", "wrigley field", "Dodger Stadium");
+
+        assertThat(Distractors.options(new SplittableRandom(1), "Fenway Park", candidates)).isEmpty();
+    }
+
+    @Test
+    void sameSeedGivesSameOrder() {
+        List<String> candidates = List.of("A", "B", "C", "D", "E", "F", "G");
+
+        assertThat(Distractors.options(new SplittableRandom(7), "A", candidates))
+                .isEqualTo(Distractors.options(new SplittableRandom(7), "A", candidates));
+    }
+
+    @Test
+    void nearbyYearsSkipTheAnswerAndTheFuture() {
+        List<String> years = Distractors.nearbyYears(2020, 2025);
+
+        assertThat(years).doesNotContain("2020").contains("2000", "2025").doesNotContain("2026");
+        assertThat(years).doesNotHaveDuplicates();
+    }
+}
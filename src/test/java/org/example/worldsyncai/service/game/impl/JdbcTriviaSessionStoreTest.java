@@ -0,0 +1,91 @@
+package org.example.worldsyncai.service.game.impl;
+
+import org.example.worldsyncai.model.TriviaQuestionSession;
+import org.example.worldsyncai.repository.TriviaQuestionSessionRepository;
+import org.example.worldsyncai.service.game.TriviaSession;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JdbcTriviaSessionStoreTest {
+
+    private final TriviaQuestionSessionRepository repository = mock(TriviaQuestionSessionRepository.class);
+    private final JdbcTriviaSessionStore store = new JdbcTriviaSessionStore(repository);
+
+    @Test
+    void saveMapsEverySessionField() {
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(30));
+        store.save(new TriviaSession("q1", "Which ballpark?", "Fenway Park", "venue|Fenway Park", expiresAt));
+
+        ArgumentCaptor<TriviaQuestionSession> saved = ArgumentCaptor.forClass(TriviaQuestionSession.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getQuestionId()).isEqualTo("q1");
+        assertThat(saved.getValue().getQuestionText()).isEqualTo("Which ballpark?");
+        assertThat(saved.getValue().getCorrectAnswer()).isEqualTo("Fenway Park");
+        assertThat(saved.getValue().getExplanationKey()).isEqualTo("venue|Fenway Park");
+        assertThat(saved.getValue().getExpiresAt()).isEqualTo(expiresAt);
+    }
+
+    @Test
+    void findReturnsLiveSessionsOnly() {
+        when(repository.findById("live")).thenReturn(Optional.of(entity("live", Instant.now().plusSeconds(60))));
+        when(repository.findById("expired")).thenReturn(Optional.of(entity("expired", Instant.now().minusSeconds(1))));
+        when(repository.findById("unknown")).thenReturn(Optional.empty());
+
+        assertThat(store.find("live")).get().extracting(TriviaSession::correctAnswer).isEqualTo("Fenway Park");
+        assertThat(store.find("expired")).isEmpty();
+        assertThat(store.find("unknown")).isEmpty();
+    }
+
+    @Test
+    void takeReturnsTheSessionOnlyToTheCallerThatDeletedTheRow() {
+        when(repository.findById("q1")).thenReturn(Optional.of(entity("q1", Instant.now().plusSeconds(60))));
+        when(repository.deleteByQuestionId("q1")).thenReturn(1, 0);
+
+        assertThat(store.take("q1")).get().extracting(TriviaSession::questionId).isEqualTo("q1");
+        assertThat(store.take("q1")).isEmpty();
+    }
+
+    @Test
+    void takeLeavesExpiredAndUnknownSessionsToThePurge() {
+        when(repository.findById("expired")).thenReturn(Optional.of(entity("expired", Instant.now().minusSeconds(1))));
+        when(repository.findById("unknown")).thenReturn(Optional.empty());
+
+        assertThat(store.take("expired")).isEmpty();
+        assertThat(store.take("unknown")).isEmpty();
+        verify(repository, never()).deleteByQuestionId(anyString());
+    }
+
+    @Test
+    void purgeDeletesRowsExpiredByNow() {
+        when(repository.deleteExpired(any(Instant.class))).thenReturn(3);
+        Instant before = Instant.now();
+
+        store.purgeExpired();
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(repository).deleteExpired(cutoff.capture());
+        assertThat(cutoff.getValue()).isBetween(before, Instant.now());
+    }
+
+    private TriviaQuestionSession entity(String questionId, Instant expiresAt) {
+        TriviaQuestionSession entity = new TriviaQuestionSession();
+        entity.setQuestionId(questionId);
+        entity.setQuestionText("Which ballpark?");
+        entity.setCorrectAnswer("Fenway Park");
+        entity.setExplanationKey("venue|Fenway Park");
+        entity.setExpiresAt(expiresAt);
+        return entity;
+    }
+}
@@ -0,0 +1,263 @@
+package org.example.worldsyncai.service.game.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.worldsyncai.dto.game.TriviaQuestionDto;
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
+import org.example.worldsyncai.service.chat.AiService;
+import org.example.worldsyncai.service.game.GeneratedQuestion;
+import org.example.worldsyncai.service.game.TriviaQuestionGenerator;
+import org.example.worldsyncai.service.team.TeamCatalog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TriviaQuestionServiceImplTest {
+
+    private final AiService aiService = mock(AiService.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final VenueGenerator generator = new VenueGenerator();
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryTriviaSessionStore sessionStore;
+    private TriviaQuestionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sessionStore = new InMemoryTriviaSessionStore(meterRegistry);
+        ReflectionTestUtils.setField(sessionStore, "maxSize", 100L);
+        sessionStore.initCache();
+
+        service = newService(List.of(generator), "");
+    }
+
+    private TriviaQuestionServiceImpl newService(List<TriviaQuestionGenerator> generators, String seed) {
+        TriviaQuestionServiceImpl service = new TriviaQuestionServiceImpl(generators, sessionStore, aiService, executor, meterRegistry);
+        ReflectionTestUtils.setField(service, "sessionTtlMinutes", 30L);
+        ReflectionTestUtils.setField(service, "poolSize", 5);
+        ReflectionTestUtils.setField(service, "poolLowWaterMark", 0);
+        ReflectionTestUtils.setField(service, "seed", seed);
+        ReflectionTestUtils.setField(service, "dedupHistorySize", 10);
+        ReflectionTestUtils.setField(service, "dedupMaxUsers", 100L);
+        ReflectionTestUtils.setField(service, "dedupTtlHours", 24L);
+        ReflectionTestUtils.setField(service, "explanationCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(service, "explanationCacheTtlHours", 1L);
+        ReflectionTestUtils.setField(service, "prewarmExplanations", false);
+        service.initCache();
+        return service;
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void questionCanOnlyBeAnsweredOnce() {
+        TriviaQuestionDto question = service.getRandomQuestion("alice");
+
+        assertThat(service.checkAnswer(question.getId(), question.getCorrectAnswer())).startsWith("✅");
+        assertThat(service.checkAnswer(question.getId(), question.getCorrectAnswer())).startsWith("❓");
+        assertThat(sessionStore.find(question.getId())).isEmpty();
+    }
+
+    @Test
+    void concurrentAnswersToOneQuestionAreAcceptedOnce() throws Exception {
+        TriviaQuestionDto question = service.getRandomQuestion("alice");
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(executor.submit(() -> service.checkAnswer(question.getId(), question.getCorrectAnswer())));
+        }
+
+        List<String> replies = new ArrayList<>();
+        for (Future<String> result : results) {
+            replies.add(result.get(5, TimeUnit.SECONDS));
+        }
+        assertThat(replies).filteredOn(reply -> reply.startsWith("✅")).hasSize(1);
+    }
+
+    @Test
+    void wrongAnswerGetsExplanationAndAlsoEndsTheSession() {
+        when(aiService.getAIResponse(anyString())).thenReturn("Because it is their home ballpark.");
+        TriviaQuestionDto question = service.getRandomQuestion("alice");
+
+        assertThat(service.checkAnswer(question.getId(), "Wrong Park"))
+                .startsWith("❌")
+                .contains(question.getCorrectAnswer())
+                .contains("Because it is their home ballpark.");
+        assertThat(service.checkAnswer(question.getId(), question.getCorrectAnswer())).startsWith("❓");
+        verify(aiService, times(1)).getAIResponse(anyString());
+    }
+
+    @Test
+    void failedExplanationIsShownButNotCached() throws InterruptedException {
+        when(aiService.getAIResponse(anyString())).thenReturn(AiService.ERROR_RESPONSE, "Because it is their home ballpark.");
+        ReflectionTestUtils.setField(service, "prewarmExplanations", true);
+        TriviaQuestionDto first = service.getRandomQuestion("alice");
+        verify(aiService, timeout(5000)).getAIResponse(anyString());
+        awaitNoCachedExplanations();
+
+        assertThat(service.checkAnswer(first.getId(), "Wrong Park")).contains("Because it is their home ballpark.");
+
+        when(aiService.getAIResponse(anyString())).thenReturn(AiService.ERROR_RESPONSE);
+        ReflectionTestUtils.setField(service, "prewarmExplanations", false);
+        TriviaQuestionDto second = service.getRandomQuestion("alice");
+
+        assertThat(service.checkAnswer(second.getId(), "Wrong Park")).endsWith(AiService.ERROR_RESPONSE);
+    }
+
+    @Test
+    void refillFillsThePoolAndServingDoesNotGenerate() {
+        service.refillPool();
+
+        assertThat(generator.calls.get()).isEqualTo(5);
+        assertThat(poolSize()).isEqualTo(5.0);
+
+        TriviaQuestionDto question = service.getRandomQuestion("alice");
+
+        assertThat(question.getOptions()).hasSize(4);
+        assertThat(generator.calls.get()).isEqualTo(5);
+        assertThat(poolSize()).isEqualTo(4.0);
+    }
+
+    @Test
+    void refillStopsWhenGeneratorsHaveNoData() {
+        generator.available = false;
+
+        service.refillPool();
+
+        assertThat(poolSize()).isZero();
+        TriviaQuestionDto question = service.getRandomQuestion("alice");
+        assertThat(question.getOptions()).isEmpty();
+        assertThat(sessionStore.find(question.getId())).isEmpty();
+    }
+
+    @Test
+    void droppingBelowLowWaterMarkRefillsInTheBackground() throws InterruptedException {
+        ReflectionTestUtils.setField(service, "poolLowWaterMark", 3);
+        service.refillPool();
+
+        for (int i = 0; i < 3; i++) {
+            service.getRandomQuestion(null);
+        }
+
+        assertThat(awaitPoolSize(5.0)).isTrue();
+    }
+
+    @Test
+    void userIsNotServedAQuestionTheyHaveSeen() {
+        service.refillPool();
+
+        List<String> aliceAnswers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            aliceAnswers.add(service.getRandomQuestion("alice").getCorrectAnswer());
+        }
+
+        assertThat(aliceAnswers).doesNotHaveDuplicates();
+        // The fifth pooled question repeats one Alice has seen; it stays in the pool for Bob.
+        assertThat(service.getRandomQuestion("bob").getCorrectAnswer()).isEqualTo("Fenway Park");
+    }
+
+    @Test
+    void sameSeedServesTheSameQuestions() {
+        assertThat(questionSequence("42")).isEqualTo(questionSequence("42"));
+    }
+
+    private List<String> questionSequence(String seed) {
+        TeamCatalog teamCatalog = mock(TeamCatalog.class);
+        when(teamCatalog.getTeams()).thenReturn(List.of(
+                team("New York Yankees", "Yankee Stadium", "American League East", "1903"),
+                team("Boston Red Sox", "Fenway Park", "American League East", "1901"),
+                team("Chicago Cubs", "Wrigley Field", "National League Central", "1874"),
+                team("Los Angeles Dodgers", "Dodger Stadium", "National League West", "1884"),
+                team("Seattle Mariners", "T-Mobile Park", "American League West", "1977"),
+                team("Atlanta Braves", "Truist Park", "National League East", "1871")
+        ));
+        TriviaQuestionServiceImpl seeded = newService(List.of(
+                new VenueQuestionGenerator(teamCatalog),
+                new DivisionQuestionGenerator(teamCatalog),
+                new TeamYearQuestionGenerator(teamCatalog)), seed);
+        seeded.refillPool();
+
+        List<String> questions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            TriviaQuestionDto question = seeded.getRandomQuestion(null);
+            questions.add(question.getQuestion() + " " + question.getOptions());
+        }
+        return questions;
+    }
+
+    private TeamSummaryDto team(String name, String venue, String division, String firstYear) {
+        return new TeamSummaryDto(name.hashCode(), name, null, null, null, null, null, null, firstYear, venue, null, division);
+    }
+
+    private double poolSize() {
+        return meterRegistry.get("trivia.pool.size").gauge().value();
+    }
+
+    private boolean awaitPoolSize(double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (poolSize() == expected) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    private void awaitNoCachedExplanations() throws InterruptedException {
+        AsyncCache<?, ?> explanationCache = (AsyncCache<?, ?>) ReflectionTestUtils.getField(service, "explanationCache");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!explanationCache.asMap().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(explanationCache.asMap()).isEmpty();
+    }
+
+    /**
+     * Cycles through a fixed set of venues, so every question has a stable key and the pool order is known.
+     */
+    private static class VenueGenerator implements TriviaQuestionGenerator {
+
+        private static final List<String> VENUES = List.of("Fenway Park", "Yankee Stadium", "Wrigley Field", "Dodger Stadium");
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean available = true;
+
+        @Override
+        public String type() {
+            return "venue";
+        }
+
+        @Override
+        public Optional<GeneratedQuestion> generate(SplittableRandom random) {
+            int call = calls.getAndIncrement();
+            if (!available) {
+                return Optional.empty();
+            }
+            String venue = VENUES.get(call % VENUES.size());
+            return Optional.of(new GeneratedQuestion("venue|" + venue, "Which of these is " + venue + "?",
+                    VENUES, venue));
+        }
+    }
+}
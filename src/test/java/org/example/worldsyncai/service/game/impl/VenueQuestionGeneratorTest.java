@@ -0,0 +1,68 @@
+package org.example.worldsyncai.service.game.impl;
+
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
+import org.example.worldsyncai.service.game.GeneratedQuestion;
+import org.example.worldsyncai.service.team.TeamCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VenueQuestionGeneratorTest {
+
+    private final TeamCatalog teamCatalog = mock(TeamCatalog.class);
+    private final VenueQuestionGenerator generator = new VenueQuestionGenerator(teamCatalog);
+
+    @Test
+    void teamsSharingTheVenueAreNotOfferedAsWrongAnswers() {
+        when(teamCatalog.getTeams()).thenReturn(List.of(
+                team("New York Yankees", "Yankee Stadium"),
+                team("New York Yankees Alumni", "Yankee Stadium"),
+                team("Boston Red Sox", "Fenway Park"),
+                team("Chicago Cubs", "Wrigley Field"),
+                team("Los Angeles Dodgers", "Dodger Stadium"),
+                team("Atlanta Braves", "Truist Park")
+        ));
+
+        for (long seed = 0; seed < 50; seed++) {
+            GeneratedQuestion question = generator.generate(new SplittableRandom(seed)).orElseThrow();
+            String venue = question.questionKey().split("\\|")[1];
+            List<String> sameVenue = teamCatalog.getTeams().stream()
+                    .filter(team -> team.venueName().equals(venue))
+                    .map(TeamSummaryDto::name)
+                    .toList();
+
+            assertThat(question.options()).contains(question.correctAnswer());
+            assertThat(question.options()).filteredOn(sameVenue::contains).containsExactly(question.correctAnswer());
+        }
+    }
+
+    @Test
+    void noTeamsLoadedGivesNoQuestion() {
+        when(teamCatalog.getTeams()).thenReturn(List.of());
+
+        assertThat(generator.generate(new SplittableRandom(1))).isEmpty();
+    }
+
+    @Test
+    void sameSeedGivesSameQuestion() {
+        when(teamCatalog.getTeams()).thenReturn(List.of(
+                team("Boston Red Sox", "Fenway Park"),
+                team("Chicago Cubs", "Wrigley Field"),
+                team("Los Angeles Dodgers", "Dodger Stadium"),
+                team("Atlanta Braves", "Truist Park"),
+                team("Seattle Mariners", "T-Mobile Park")
+        ));
+
+        assertThat(generator.generate(new SplittableRandom(42)))
+                .isEqualTo(generator.generate(new SplittableRandom(42)));
+    }
+
+    private TeamSummaryDto team(String name, String venue) {
+        return new TeamSummaryDto(name.hashCode(), name, null, null, null, null, null, null, null, venue, null, null);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.worldsyncai.service.impl;
+
+import com.google.api.client.auth.oauth2.TokenResponse;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.JsonFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.worldsyncai.model.User;
+import org.example.worldsyncai.repository.CalendarGameEventRepository;
+import org.example.worldsyncai.repository.CalendarSyncStateRepository;
+import org.example.worldsyncai.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GoogleCalendarServiceImplTest {
+
+    private static final Long USER_ID = 7L;
+
+    private final SecretManagerService secretManagerService = mock(SecretManagerService.class);
+    private final UserService userService = mock(UserService.class);
+    private final CalendarSyncStateRepository syncStateRepository = mock(CalendarSyncStateRepository.class);
+    private final CalendarGameEventRepository gameEventRepository = mock(CalendarGameEventRepository.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private GoogleCalendarServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GoogleCalendarServiceImpl(secretManagerService, userService, syncStateRepository, gameEventRepository,
+                mock(HttpTransport.class), mock(JsonFactory.class), new SimpleMeterRegistry(), executor);
+        ReflectionTestUtils.setField(service, "tokenRefreshAheadMinutes", 10L);
+        ReflectionTestUtils.setField(service, "tokenRefreshBatchSize", 100);
+        ReflectionTestUtils.setField(service, "tokenRefreshRetryDelayMinutes", 15L);
+        ReflectionTestUtils.setField(service, "clientCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(service, "clientCacheIdleMinutes", 60L);
+        service.initCache();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void reconnectingStartsTheCalendarSyncOver() {
+        service.storeUserTokens(USER_ID, new TokenResponse()
+                .setAccessToken("new-access")
+                .setRefreshToken("new-refresh")
+                .setExpiresInSeconds(3600L));
+
+        verify(userService).updateUserCalendarTokens(eq(USER_ID), eq("new-access"), eq("new-refresh"), any(Instant.class));
+        verify(syncStateRepository).clearSyncToken(USER_ID);
+        verify(gameEventRepository).deleteByUserId(USER_ID);
+    }
+
+    @Test
+    void failedRefreshIsPostponedSoItDoesNotBlockOtherUsers() throws IOException {
+        User user = new User();
+        user.setId(USER_ID);
+        user.setGoogleCalendarRefreshToken("refresh");
+        when(userService.findUsersWithCalendarTokenExpiringBefore(any(Instant.class), eq(100))).thenReturn(List.of(user));
+        GoogleCalendarServiceImpl refreshing = spy(service);
+        doThrow(new IOException("Connection reset")).when(refreshing).refreshAccessToken(eq("refresh"), any(), any());
+        Instant before = Instant.now();
+
+        refreshing.refreshExpiringTokens();
+
+        ArgumentCaptor<Instant> retryAt = ArgumentCaptor.forClass(Instant.class);
+        verify(userService).postponeUserCalendarTokenRefresh(eq(USER_ID), retryAt.capture());
+        assertThat(retryAt.getValue()).isAfterOrEqualTo(before.plus(Duration.ofMinutes(15)));
+        verify(userService, never()).clearUserCalendarRefreshToken(USER_ID);
+    }
+}
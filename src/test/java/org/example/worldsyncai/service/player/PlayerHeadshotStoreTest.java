@@ -0,0 +1,88 @@
+package org.example.worldsyncai.service.player;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.worldsyncai.client.MlbStatsClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PlayerHeadshotStoreTest {
+
+    private static final String PHOTO_URL = "https://img/people";
+
+    @TempDir
+    Path headshotDir;
+
+    private final MlbStatsClient mlbStatsClient = mock(MlbStatsClient.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private PlayerHeadshotStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new PlayerHeadshotStore(mlbStatsClient, new SimpleMeterRegistry(), executor);
+        ReflectionTestUtils.setField(store, "playerPhotoUrl", PHOTO_URL);
+        ReflectionTestUtils.setField(store, "headshotDir", headshotDir);
+        ReflectionTestUtils.setField(store, "refreshDays", 30L);
+        ReflectionTestUtils.setField(store, "memoryMaxBytes", 1_000_000L);
+        ReflectionTestUtils.setField(store, "diskMaxFiles", 100);
+        ReflectionTestUtils.setField(store, "negativeCacheMinutes", 10L);
+        ReflectionTestUtils.setField(store, "negativeCacheMaxSize", 100L);
+        store.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void headshotIsDownloadedOnceAndThumbIsDerivedLocally() throws IOException {
+        when(mlbStatsClient.getBytes(anyString())).thenReturn(png(600, 800));
+
+        PlayerHeadshotStore.Headshot full = store.getHeadshot(592450, HeadshotSize.FULL).orElseThrow();
+        PlayerHeadshotStore.Headshot thumb = store.getHeadshot(592450, HeadshotSize.THUMB).orElseThrow();
+
+        assertThat(ImageIO.read(new ByteArrayInputStream(full.bytes())).getWidth()).isEqualTo(480);
+        assertThat(ImageIO.read(new ByteArrayInputStream(thumb.bytes())).getWidth()).isEqualTo(120);
+        verify(mlbStatsClient, times(1)).getBytes(PHOTO_URL + "/592450/headshot/67/current");
+    }
+
+    @Test
+    void missingHeadshotIsRememberedForEverySize() {
+        when(mlbStatsClient.getBytes(anyString()))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), new byte[0], null));
+
+        assertThat(store.getHeadshot(1, HeadshotSize.FULL)).isEmpty();
+        assertThat(store.getHeadshot(1, HeadshotSize.FULL)).isEmpty();
+        assertThat(store.getHeadshot(1, HeadshotSize.THUMB)).isEmpty();
+
+        verify(mlbStatsClient, times(1)).getBytes(anyString());
+    }
+
+    private byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return out.toByteArray();
+    }
+}
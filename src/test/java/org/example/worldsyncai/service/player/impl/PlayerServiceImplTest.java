@@ -0,0 +1,156 @@
+package org.example.worldsyncai.service.player.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.worldsyncai.client.MlbStatsClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The batch window is driven by hand: the test runs the scheduled flush once the expected loads are queued.
+ */
+class PlayerServiceImplTest {
+
+    private static final int BATCH_MAX_SIZE = 100;
+
+    private final MlbStatsClient mlbStatsClient = mock(MlbStatsClient.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Queue<Runnable> scheduledFlushes = new ConcurrentLinkedQueue<>();
+    private PlayerServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            scheduledFlushes.add(invocation.getArgument(0));
+            return null;
+        }).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        // Answers with every requested ID except the ones above 900, which the MLB API does not know.
+        when(mlbStatsClient.get(anyString())).thenAnswer(invocation -> {
+            String people = requestedIds(invocation.getArgument(0)).stream()
+                    .filter(id -> id < 900)
+                    .map(id -> "{\"id\":" + id + ",\"fullName\":\"Player " + id + "\"}")
+                    .collect(Collectors.joining(","));
+            return "{\"people\":[" + people + "]}";
+        });
+
+        service = new PlayerServiceImpl(mlbStatsClient, new ObjectMapper(), new SimpleMeterRegistry(), executor, taskScheduler);
+        ReflectionTestUtils.setField(service, "baseUrl", "http://mlb");
+        ReflectionTestUtils.setField(service, "maxSize", 1000L);
+        ReflectionTestUtils.setField(service, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(service, "batchWindowMs", 10L);
+        ReflectionTestUtils.setField(service, "batchMaxSize", BATCH_MAX_SIZE);
+        service.initCache();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentSingleLookupsInOneWindowShareOneCall() throws Exception {
+        Future<Optional<JsonNode>> first = executor.submit(() -> service.getPlayer(1));
+        Future<Optional<JsonNode>> second = executor.submit(() -> service.getPlayer(2));
+        awaitQueued(2);
+
+        flush();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).get().extracting(player -> player.path("id").asInt()).isEqualTo(1);
+        assertThat(second.get(5, TimeUnit.SECONDS)).get().extracting(player -> player.path("id").asInt()).isEqualTo(2);
+        assertThat(upstreamCalls(1)).containsExactly(Set.of(1, 2));
+    }
+
+    @Test
+    void bulkLookupIsSplitIntoMaxSizeChunks() throws Exception {
+        List<Integer> ids = IntStream.rangeClosed(1, 200).boxed().toList();
+
+        List<JsonNode> players = callAndFlush(() -> service.getPlayers(ids), 200);
+
+        assertThat(players).extracting(player -> player.path("id").asInt()).containsExactlyElementsOf(ids);
+        List<Set<Integer>> calls = upstreamCalls(2);
+        assertThat(calls).allSatisfy(call -> assertThat(call).hasSize(BATCH_MAX_SIZE));
+        assertThat(calls.get(0)).doesNotContainAnyElementsOf(calls.get(1));
+    }
+
+    @Test
+    void cachedPlayersAreNotRequestedAgain() throws Exception {
+        callAndFlush(() -> service.getPlayers(List.of(1, 2)), 2);
+
+        List<JsonNode> players = callAndFlush(() -> service.getPlayers(List.of(1, 2, 3)), 1);
+
+        assertThat(players).hasSize(3);
+        assertThat(upstreamCalls(2).get(1)).containsExactly(3);
+    }
+
+    @Test
+    void unknownPlayersAreLeftOutAndNotCached() throws Exception {
+        List<JsonNode> players = callAndFlush(() -> service.getPlayers(List.of(1, 901)), 2);
+        assertThat(players).extracting(player -> player.path("id").asInt()).containsExactly(1);
+
+        assertThat(callAndFlush(() -> service.getPlayer(901), 1)).isEmpty();
+        assertThat(upstreamCalls(2).get(1)).containsExactly(901);
+    }
+
+    private <T> T callAndFlush(Callable<T> call, int expectedQueued) throws Exception {
+        Future<T> result = executor.submit(call);
+        awaitQueued(expectedQueued);
+        flush();
+        return result.get(5, TimeUnit.SECONDS);
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        Queue<?> pendingLoads = (Queue<?>) ReflectionTestUtils.getField(service, "pendingLoads");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pendingLoads.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(pendingLoads).hasSize(expected);
+    }
+
+    private void flush() {
+        assertThat(scheduledFlushes).hasSize(1);
+        scheduledFlushes.poll().run();
+    }
+
+    private List<Set<Integer>> upstreamCalls(int expected) {
+        ArgumentCaptor<String> urls = ArgumentCaptor.forClass(String.class);
+        verify(mlbStatsClient, times(expected)).get(urls.capture());
+        return urls.getAllValues().stream().map(PlayerServiceImplTest::requestedIds).toList();
+    }
+
+    private static Set<Integer> requestedIds(String url) {
+        String personIds = url.substring(url.indexOf("personIds=") + "personIds=".length());
+        return Arrays.stream(personIds.split(",")).map(Integer::valueOf).collect(Collectors.toCollection(HashSet::new));
+    }
+}
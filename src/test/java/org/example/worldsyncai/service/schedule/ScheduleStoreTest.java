@@ -0,0 +1,142 @@
+package org.example.worldsyncai.service.schedule;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.worldsyncai.client.MlbStatsClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScheduleStoreTest {
+
+    private static final String SCHEDULE_URL = "http://mlb/schedule?sportId=1";
+    private static final LocalDate TODAY = LocalDate.now(ZoneId.of("America/New_York"));
+
+    private final MlbStatsClient mlbStatsClient = mock(MlbStatsClient.class);
+    private ScheduleStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ScheduleStore(mlbStatsClient, new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(store, "scheduleUrl", SCHEDULE_URL);
+        ReflectionTestUtils.setField(store, "refreshDaysBack", 1L);
+        ReflectionTestUtils.setField(store, "refreshDaysAhead", 7L);
+        ReflectionTestUtils.setField(store, "queryCacheMaxSize", 100L);
+        store.initCache();
+
+        when(mlbStatsClient.get(SCHEDULE_URL)).thenReturn(schedule(
+                date(TODAY.minusDays(10), game(1, 147, 111)),
+                date(TODAY, game(2, 147, 121), game(3, 136, 116)),
+                date(TODAY.plusDays(3), game(4, 111, 142)),
+                date(TODAY.plusDays(30), game(5, 121, 147))
+        ));
+    }
+
+    @Test
+    void nothingIsServedBeforeTheSeasonIsLoaded() {
+        assertThat(store.getDates(null, null, null)).isEmpty();
+        assertThat(store.getSchedule(null, null, null)).isEmpty();
+    }
+
+    @Test
+    void windowRefreshLoadsTheSeasonWhileNothingIsLoaded() {
+        store.refreshWindow();
+
+        assertThat(store.getDates(null, null, null).orElseThrow()).hasSize(4);
+        verify(mlbStatsClient, times(1)).get(SCHEDULE_URL);
+    }
+
+    @Test
+    void datesAreFilteredByRangeAndTeam() {
+        store.reloadSeason();
+
+        assertThat(gamePks(store.getDates(TODAY, TODAY.plusDays(3), null).orElseThrow())).containsExactly(2, 3, 4);
+        assertThat(gamePks(store.getDates(null, null, 147).orElseThrow())).containsExactly(1, 2, 5);
+
+        JsonNode today = store.getDates(TODAY, TODAY, 147).orElseThrow().get(0);
+        assertThat(today.path("totalGames").asInt()).isEqualTo(1);
+        assertThat(today.path("games")).hasSize(1);
+    }
+
+    @Test
+    void windowRefreshReplacesOnlyTheWindow() {
+        store.reloadSeason();
+        // Game 3 was postponed out of the window, game 6 was added.
+        when(mlbStatsClient.get(startsWith(SCHEDULE_URL + "&startDate="))).thenReturn(schedule(
+                date(TODAY, game(2, 147, 121)),
+                date(TODAY.plusDays(5), game(6, 136, 116))
+        ));
+
+        store.refreshWindow();
+
+        assertThat(gamePks(store.getDates(null, null, null).orElseThrow())).containsExactly(1, 2, 6, 5);
+        verify(mlbStatsClient).get(SCHEDULE_URL + "&startDate=" + TODAY.minusDays(1) + "&endDate=" + TODAY.plusDays(7));
+    }
+
+    @Test
+    void unchangedWindowKeepsTheSnapshotAndCachedResponses() {
+        store.reloadSeason();
+        ScheduleStore.ScheduleResponse full = store.getSchedule(null, null, null).orElseThrow();
+        ScheduleStore.ScheduleResponse filtered = store.getSchedule(TODAY, null, 147).orElseThrow();
+        when(mlbStatsClient.get(startsWith(SCHEDULE_URL + "&startDate="))).thenReturn(schedule(
+                date(TODAY, game(2, 147, 121), game(3, 136, 116)),
+                date(TODAY.plusDays(3), game(4, 111, 142))
+        ));
+
+        store.refreshWindow();
+
+        assertThat(store.getSchedule(null, null, null)).containsSame(full);
+        assertThat(store.getSchedule(TODAY, null, 147)).containsSame(filtered);
+    }
+
+    @Test
+    void changedWindowGivesNewETags() {
+        store.reloadSeason();
+        String fullETag = store.getSchedule(null, null, null).orElseThrow().eTag();
+        String filteredETag = store.getSchedule(TODAY, null, 147).orElseThrow().eTag();
+        when(mlbStatsClient.get(startsWith(SCHEDULE_URL + "&startDate="))).thenReturn(schedule(
+                date(TODAY, game(2, 147, 121), game(3, 136, 116)),
+                date(TODAY.plusDays(3), game(4, 111, 142), game(7, 147, 142))
+        ));
+
+        store.refreshWindow();
+
+        assertThat(store.getSchedule(null, null, null).orElseThrow().eTag()).isNotEqualTo(fullETag);
+        assertThat(store.getSchedule(TODAY, null, 147).orElseThrow().eTag()).isNotEqualTo(filteredETag);
+    }
+
+    private List<Integer> gamePks(List<JsonNode> dates) {
+        return dates.stream()
+                .flatMap(date -> StreamSupport.stream(date.path("games").spliterator(), false))
+                .map(game -> game.path("gamePk").asInt())
+                .toList();
+    }
+
+    private static String schedule(String... dates) {
+        return "{\"dates\":[" + String.join(",", dates) + "]}";
+    }
+
+    private static String date(LocalDate date, String... games) {
+        return "{\"date\":\"" + date + "\",\"totalGames\":" + games.length + ",\"games\":["
+                + String.join(",", games) + "]}";
+    }
+
+    private static String game(int gamePk, int homeTeamId, int awayTeamId) {
+        return "{\"gamePk\":" + gamePk + ",\"teams\":{"
+                + "\"home\":{\"team\":{\"id\":" + homeTeamId + "}},"
+                + "\"away\":{\"team\":{\"id\":" + awayTeamId + "}}}}";
+    }
+}
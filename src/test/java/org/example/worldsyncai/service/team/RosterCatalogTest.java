@@ -0,0 +1,39 @@
+package org.example.worldsyncai.service.team;
+
+import org.example.worldsyncai.dto.team.RosterPlayerDto;
+import org.example.worldsyncai.dto.team.TeamDetailsDto;
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RosterCatalogTest {
+
+    private static final TeamSummaryDto YANKEES = new TeamSummaryDto(147, "New York Yankees",
+            null, null, null, null, null, null, "1903", "Yankee Stadium", null, "American League East");
+
+    private final TeamCatalog teamCatalog = mock(TeamCatalog.class);
+    private final TeamDetailsService teamDetailsService = mock(TeamDetailsService.class);
+    private final RosterCatalog rosterCatalog = new RosterCatalog(teamCatalog, teamDetailsService);
+
+    @Test
+    void catalogRefreshLoadsRostersThatWereEmptyAtStartup() {
+        when(teamCatalog.getTeams()).thenReturn(List.of());
+        rosterCatalog.refresh();
+        assertThat(rosterCatalog.getPlayers()).isEmpty();
+
+        when(teamCatalog.getTeams()).thenReturn(List.of(YANKEES));
+        when(teamDetailsService.getTeamDetails(147)).thenReturn(new TeamDetailsDto(null, List.of(
+                new TeamDetailsDto.RosterEntry(new TeamDetailsDto.Person(592450, "Aaron Judge"), "99",
+                        new TeamDetailsDto.Position("9", "Outfielder", "RF")))));
+
+        rosterCatalog.onTeamCatalogRefreshed(new TeamCatalogRefreshedEvent(List.of(YANKEES)));
+
+        assertThat(rosterCatalog.getPlayers(147))
+                .containsExactly(new RosterPlayerDto(592450, "Aaron Judge", "Outfielder", 147, "New York Yankees"));
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.worldsyncai.service.team;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.worldsyncai.client.MlbStatsClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TeamCatalogTest {
+
+    private static final byte[] TEAMS_JSON = """
+            {"teams":[{"id":147,"name":"New York Yankees","abbreviation":"NYY"}]}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private MlbStatsClient mlbStatsClient;
+    private TaskScheduler taskScheduler;
+    private TeamCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        mlbStatsClient = mock(MlbStatsClient.class);
+        taskScheduler = mock(TaskScheduler.class);
+        catalog = new TeamCatalog(mlbStatsClient, new ObjectMapper(), mock(ApplicationEventPublisher.class), taskScheduler);
+        ReflectionTestUtils.setField(catalog, "teamsUrl", "http://mlb/teams");
+        ReflectionTestUtils.setField(catalog, "retryInitialDelayMs", 1000L);
+        ReflectionTestUtils.setField(catalog, "retryMaxDelayMs", 4000L);
+    }
+
+    @Test
+    void readsDoNotCallUpstreamWhileEmptyAndRetryBacksOff() {
+        when(mlbStatsClient.getIfModified(anyString(), isNull(), isNull())).thenThrow(new IllegalStateException("down"));
+
+        catalog.init();
+
+        assertThat(catalog.getTeams()).isEmpty();
+        assertThat(catalog.getTeamsJson()).isEmpty();
+        assertThat(catalog.findById(147)).isEmpty();
+        verify(mlbStatsClient, times(1)).getIfModified(anyString(), isNull(), isNull());
+
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Instant> at = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler).schedule(retry.capture(), at.capture());
+        long firstDelay = at.getValue().toEpochMilli() - System.currentTimeMillis();
+        assertThat(firstDelay).isBetween(0L, 1000L);
+
+        retry.getValue().run();
+
+        verify(taskScheduler, times(2)).schedule(retry.capture(), at.capture());
+        long secondDelay = at.getValue().toEpochMilli() - System.currentTimeMillis();
+        assertThat(secondDelay).isBetween(1000L, 2000L);
+    }
+
+    @Test
+    void retryStopsOnceLoadedAndBodyAndETagComeFromOneSnapshot() {
+        when(mlbStatsClient.getIfModified(anyString(), isNull(), isNull()))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(ResponseEntity.ok(TEAMS_JSON));
+
+        catalog.init();
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(retry.capture(), any(Instant.class));
+        retry.getValue().run();
+
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+        assertThat(catalog.findById(147)).isPresent();
+        TeamCatalog.TeamsJson teams = catalog.getTeamsJson().orElseThrow();
+        assertThat(teams.json()).isEqualTo(TEAMS_JSON);
+        assertThat(teams.eTag()).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void successfulStartupSchedulesNoRetry() {
+        when(mlbStatsClient.getIfModified(anyString(), isNull(), isNull())).thenReturn(ResponseEntity.ok(TEAMS_JSON));
+
+        catalog.init();
+
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+        assertThat(catalog.getTeams()).hasSize(1);
+    }
+}
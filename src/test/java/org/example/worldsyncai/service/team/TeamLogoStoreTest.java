@@ -0,0 +1,112 @@
+package org.example.worldsyncai.service.team;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.worldsyncai.client.MlbStatsClient;
+import org.example.worldsyncai.dto.team.TeamSummaryDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TeamLogoStoreTest {
+
+    private static final byte[] LOGO = "<svg/>".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path logoDir;
+
+    private final MlbStatsClient mlbStatsClient = mock(MlbStatsClient.class);
+    private final TeamCatalog teamCatalog = mock(TeamCatalog.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private TeamLogoStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TeamSummaryDto yankees = new TeamSummaryDto(147, "New York Yankees", null, null, null, null, null, "NYY",
+                null, null, null, null);
+        when(teamCatalog.getTeams()).thenReturn(List.of(yankees));
+        when(teamCatalog.findById(147)).thenReturn(Optional.of(yankees));
+        when(mlbStatsClient.getBytes(anyString())).thenReturn(LOGO);
+
+        store = new TeamLogoStore(mlbStatsClient, teamCatalog, new SimpleMeterRegistry(), executor);
+        ReflectionTestUtils.setField(store, "teamLogoUrl", "https://cdn/team-logos");
+        ReflectionTestUtils.setField(store, "logoDir", logoDir);
+        ReflectionTestUtils.setField(store, "refreshDays", 30L);
+        ReflectionTestUtils.setField(store, "maxEntries", 100L);
+        ReflectionTestUtils.setField(store, "staleRetryMinutes", 0L);
+        store.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void knownTeamIsDownloadedOnceAndStored() throws IOException {
+        TeamLogoStore.LogoAsset logo = store.getLogo(147).orElseThrow();
+        store.getLogo(147);
+
+        assertThat(Files.readAllBytes(logo.svg())).isEqualTo(LOGO);
+        assertThat(logo.gzip()).exists();
+        verify(mlbStatsClient, times(1)).getBytes("https://cdn/team-logos/147.svg");
+    }
+
+    @Test
+    void outdatedCopyServedOnCdnFailureIsNotKeptUntilTheNextRefresh() throws IOException {
+        byte[] oldLogo = "<svg id=\"old\"/>".getBytes(StandardCharsets.UTF_8);
+        Files.write(logoDir.resolve("147.svg"), oldLogo);
+        Files.write(logoDir.resolve("147.svg.gz"), oldLogo);
+        Files.setLastModifiedTime(logoDir.resolve("147.svg"), FileTime.from(Instant.now().minus(Duration.ofDays(31))));
+        when(mlbStatsClient.getBytes(anyString())).thenThrow(new IllegalStateException("CDN down"));
+
+        assertThat(Files.readAllBytes(store.getLogo(147).orElseThrow().svg())).isEqualTo(oldLogo);
+
+        doReturn(LOGO).when(mlbStatsClient).getBytes(anyString());
+
+        assertThat(Files.readAllBytes(store.getLogo(147).orElseThrow().svg())).isEqualTo(LOGO);
+        verify(mlbStatsClient, times(2)).getBytes("https://cdn/team-logos/147.svg");
+    }
+
+    @Test
+    void unknownTeamNeverReachesTheCdn() {
+        when(teamCatalog.findById(999)).thenReturn(Optional.empty());
+
+        assertThat(store.getLogo(999)).isEmpty();
+        assertThat(store.getLogo(-1)).isEmpty();
+        verify(mlbStatsClient, never()).getBytes(anyString());
+    }
+
+    @Test
+    void withoutCatalogOnlyStoredLogosAreServed() {
+        store.getLogo(147);
+        when(teamCatalog.getTeams()).thenReturn(List.of());
+        when(teamCatalog.findById(147)).thenReturn(Optional.empty());
+
+        assertThat(store.getLogo(147)).isPresent();
+        assertThat(store.getLogo(121)).isEmpty();
+        verify(mlbStatsClient, times(1)).getBytes(anyString());
+    }
+}
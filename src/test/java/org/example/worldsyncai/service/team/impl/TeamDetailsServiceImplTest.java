@@ -0,0 +1,166 @@
+package org.example.worldsyncai.service.team.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.worldsyncai.client.MlbStatsClient;
+import org.example.worldsyncai.dto.team.TeamDetailsDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TeamDetailsServiceImplTest {
+
+    private static final String TEAM_URL = "https://statsapi.test/api/v1/teams";
+    private static final String INFO_URL = TEAM_URL + "/147";
+    private static final String ROSTER_URL = TEAM_URL + "/147/roster?season=2025";
+    private static final long REFRESH_MINUTES = 30;
+
+    private final MlbStatsClient mlbStatsClient = mock(MlbStatsClient.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private ExecutorService upstreamExecutor;
+    private TeamDetailsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        upstreamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        service = new TeamDetailsServiceImpl(mlbStatsClient, new ObjectMapper(), new SimpleMeterRegistry(), upstreamExecutor);
+        ReflectionTestUtils.setField(service, "teamUrl", TEAM_URL);
+        ReflectionTestUtils.setField(service, "maxSize", 64L);
+        ReflectionTestUtils.setField(service, "ttlMinutes", 360L);
+        ReflectionTestUtils.setField(service, "refreshMinutes", REFRESH_MINUTES);
+        ReflectionTestUtils.setField(service, "ticker", (Ticker) nanos::get);
+        service.initCache();
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Test
+    void mapsTeamInfoAndRoster() {
+        when(mlbStatsClient.get(INFO_URL)).thenReturn(teamInfo("New York Yankees"));
+        when(mlbStatsClient.get(ROSTER_URL)).thenReturn(roster("Aaron Judge"));
+
+        TeamDetailsDto details = service.getTeamDetails(147);
+
+        TeamDetailsDto.Team team = details.teamInfo().teams().getFirst();
+        assertThat(team.id()).isEqualTo(147);
+        assertThat(team.name()).isEqualTo("New York Yankees");
+        assertThat(team.abbreviation()).isEqualTo("NYY");
+        assertThat(team.venue()).isEqualTo(new TeamDetailsDto.Reference(3313, "Yankee Stadium"));
+        assertThat(team.division()).isNull();
+        assertThat(details.roster()).singleElement().satisfies(entry -> {
+            assertThat(entry.person()).isEqualTo(new TeamDetailsDto.Person(592450, "Aaron Judge"));
+            assertThat(entry.jerseyNumber()).isEqualTo("99");
+            assertThat(entry.position().abbreviation()).isEqualTo("RF");
+        });
+    }
+
+    @Test
+    void servesRepeatedReadsFromCache() {
+        when(mlbStatsClient.get(INFO_URL)).thenReturn(teamInfo("New York Yankees"));
+        when(mlbStatsClient.get(ROSTER_URL)).thenReturn(roster("Aaron Judge"));
+
+        service.getTeamDetails(147);
+        service.getTeamDetails(147);
+
+        verify(mlbStatsClient, times(1)).get(INFO_URL);
+        verify(mlbStatsClient, times(1)).get(ROSTER_URL);
+    }
+
+    @Test
+    void concurrentMissesShareOneUpstreamLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(mlbStatsClient.get(INFO_URL)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return teamInfo("New York Yankees");
+        });
+        when(mlbStatsClient.get(ROSTER_URL)).thenReturn(roster("Aaron Judge"));
+
+        List<Future<TeamDetailsDto>> readers = new ArrayList<>();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                readers.add(requests.submit(() -> service.getTeamDetails(147)));
+            }
+            release.countDown();
+            for (Future<TeamDetailsDto> reader : readers) {
+                assertThat(reader.get(5, TimeUnit.SECONDS).teamInfo().teams().getFirst().name()).isEqualTo("New York Yankees");
+            }
+        }
+
+        verify(mlbStatsClient, times(1)).get(INFO_URL);
+        verify(mlbStatsClient, times(1)).get(ROSTER_URL);
+    }
+
+    @Test
+    void servesStaleEntryWhileRefreshingInBackground() throws Exception {
+        when(mlbStatsClient.get(INFO_URL)).thenReturn(teamInfo("New York Yankees"), teamInfo("New York Yankees (refreshed)"));
+        when(mlbStatsClient.get(ROSTER_URL)).thenReturn(roster("Aaron Judge"));
+        service.getTeamDetails(147);
+
+        nanos.addAndGet(Duration.ofMinutes(REFRESH_MINUTES + 1).toNanos());
+
+        assertThat(service.getTeamDetails(147).teamInfo().teams().getFirst().name()).isEqualTo("New York Yankees");
+        assertThat(awaitTeamName("New York Yankees (refreshed)")).isTrue();
+        verify(mlbStatsClient, times(2)).get(INFO_URL);
+    }
+
+    @Test
+    void rethrowsUpstreamFailureAndRetriesOnNextRead() {
+        when(mlbStatsClient.get(INFO_URL))
+                .thenThrow(new IllegalStateException("MLB API is down"))
+                .thenReturn(teamInfo("New York Yankees"));
+        when(mlbStatsClient.get(ROSTER_URL)).thenReturn(roster("Aaron Judge"));
+
+        assertThatThrownBy(() -> service.getTeamDetails(147))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("MLB API is down");
+        assertThat(service.getTeamDetails(147).teamInfo().teams()).hasSize(1);
+    }
+
+    private boolean awaitTeamName(String name) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (name.equals(service.getTeamDetails(147).teamInfo().teams().getFirst().name())) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    private static String teamInfo(String name) {
+        return """
+                {"teams": [{"id": 147, "name": "%s", "abbreviation": "NYY",
+                            "venue": {"id": 3313, "name": "Yankee Stadium"},
+                            "league": {"id": 103, "name": "American League"}}]}
+                """.formatted(name);
+    }
+
+    private static String roster(String playerName) {
+        return """
+                {"roster": [{"person": {"id": 592450, "fullName": "%s"}, "jerseyNumber": "99",
+                             "position": {"code": "9", "name": "Outfielder", "abbreviation": "RF"}}]}
+                """.formatted(playerName);
+    }
+}